@@ -0,0 +1,208 @@
+package robotics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Closed-form two-link inverse kinematics from the law of cosines. Both elbow
+ * branches are returned; a fallback solver is only consulted when joint
+ * limits exclude both of them. Targets outside the reach annulus get the
+ * closest pose, reported as {@link TerminationCriteria#UNREACHABLE}.
+ */
+public class AnalyticIKSolver implements InverseKinematicsSolver {
+    private static final double TWO_PI = 2 * Math.PI;
+    
+    private final double minAngle;
+    private final double maxAngle;
+    private final InverseKinematicsSolver fallback;
+    
+    public AnalyticIKSolver() {
+        this(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, null);
+    }
+    
+    public AnalyticIKSolver(double minAngle, double maxAngle, InverseKinematicsSolver fallback) {
+        this.minAngle = minAngle;
+        this.maxAngle = maxAngle;
+        this.fallback = fallback;
+    }
+    
+    public static AnalyticIKSolver withFallback(GeneticAlgorithm ga) {
+        return new AnalyticIKSolver(ga.getMinAngle(), ga.getMaxAngle(), new GeneticAlgorithmSolver(ga));
+    }
+    
+    @Override
+    public double getMinAngle() {
+        return minAngle;
+    }
+    
+    @Override
+    public double getMaxAngle() {
+        return maxAngle;
+    }
+    
+    @Override
+    public AnalyticIKSolver withSeed(long seed) {
+        return fallback == null ? this : new AnalyticIKSolver(minAngle, maxAngle, fallback.withSeed(seed));
+    }
+    
+    @Override
+    public AnalyticIKSolver withTermination(TerminationCriteria criteria) {
+        return fallback == null ? this : new AnalyticIKSolver(minAngle, maxAngle, fallback.withTermination(criteria));
+    }
+    
+    @Override
+    public AnalyticIKSolver withHistory(HistoryRetention retention) {
+        return fallback == null ? this : new AnalyticIKSolver(minAngle, maxAngle, fallback.withHistory(retention));
+    }
+    
+    @Override
+    public AnalyticIKSolver withProgressListener(Consumer<SearchProgress> listener) {
+        return fallback == null ? this
+            : new AnalyticIKSolver(minAngle, maxAngle, fallback.withProgressListener(listener));
+    }
+    
+    public enum Branch {
+        ELBOW_UP,
+        ELBOW_DOWN
+    }
+    
+    public static class AnalyticSolution {
+        public final boolean reachable;
+        public final double minReach;
+        public final double maxReach;
+        public final double distance;
+        public final double elbowUpQ1;
+        public final double elbowUpQ2;
+        public final double elbowDownQ1;
+        public final double elbowDownQ2;
+        
+        AnalyticSolution(boolean reachable, double minReach, double maxReach, double distance,
+                         double elbowUpQ1, double elbowUpQ2, double elbowDownQ1, double elbowDownQ2) {
+            this.reachable = reachable;
+            this.minReach = minReach;
+            this.maxReach = maxReach;
+            this.distance = distance;
+            this.elbowUpQ1 = elbowUpQ1;
+            this.elbowUpQ2 = elbowUpQ2;
+            this.elbowDownQ1 = elbowDownQ1;
+            this.elbowDownQ2 = elbowDownQ2;
+        }
+        
+        public double getQ1(Branch branch) {
+            return branch == Branch.ELBOW_UP ? elbowUpQ1 : elbowDownQ1;
+        }
+        
+        public double getQ2(Branch branch) {
+            return branch == Branch.ELBOW_UP ? elbowUpQ2 : elbowDownQ2;
+        }
+        
+        @Override
+        public String toString() {
+            if (!reachable) {
+                return String.format("unreachable: |p|=%.4f outside [%.4f, %.4f]",
+                    distance, minReach, maxReach);
+            }
+            return String.format("elbow up (%.4f, %.4f), elbow down (%.4f, %.4f)",
+                elbowUpQ1, elbowUpQ2, elbowDownQ1, elbowDownQ2);
+        }
+    }
+    
+    /**
+     * Solves both elbow branches for the given link lengths. Targets outside
+     * the reach annulus |a1-a2|..a1+a2 are reported as unreachable, with the
+     * branch angles set to the pose whose end effector is closest to the
+     * target (arm stretched or folded along the target direction).
+     */
+    public static AnalyticSolution solveBranches(double a1, double a2, RobotArm2D.Point2D target) {
+        double minReach = Math.abs(a1 - a2);
+        double maxReach = a1 + a2;
+        double distanceSq = target.x * target.x + target.y * target.y;
+        double distance = Math.sqrt(distanceSq);
+        double heading = Math.atan2(target.y, target.x);
+        
+        if (distance > maxReach) {
+            return new AnalyticSolution(false, minReach, maxReach, distance,
+                heading, 0, heading, 0);
+        }
+        if (distance < minReach) {
+            double q1 = a1 >= a2 ? heading : heading + Math.PI;
+            return new AnalyticSolution(false, minReach, maxReach, distance,
+                q1, Math.PI, q1, Math.PI);
+        }
+        
+        double cosQ2 = (distanceSq - a1 * a1 - a2 * a2) / (2 * a1 * a2);
+        cosQ2 = Math.max(-1.0, Math.min(1.0, cosQ2));
+        double sinQ2 = Math.sqrt(1 - cosQ2 * cosQ2);
+        
+        double downQ2 = Math.atan2(sinQ2, cosQ2);
+        double downQ1 = heading - Math.atan2(a2 * sinQ2, a1 + a2 * cosQ2);
+        double upQ2 = -downQ2;
+        double upQ1 = heading + Math.atan2(a2 * sinQ2, a1 + a2 * cosQ2);
+        
+        return new AnalyticSolution(true, minReach, maxReach, distance,
+            upQ1, upQ2, downQ1, downQ2);
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold) {
+        AnalyticSolution solution = solveBranches(robot.getA1(), robot.getA2(), target);
+        
+        double bestQ1 = Double.NaN;
+        double bestQ2 = Double.NaN;
+        for (Branch branch : Branch.values()) {
+            double q1 = fitLimits(solution.getQ1(branch));
+            double q2 = fitLimits(solution.getQ2(branch));
+            if (!Double.isNaN(q1) && !Double.isNaN(q2)) {
+                bestQ1 = q1;
+                bestQ2 = q2;
+                break;
+            }
+        }
+        
+        if (Double.isNaN(bestQ1)) {
+            if (fallback != null) {
+                return fallback.solve(robot, target, maxGenerations, errorThreshold);
+            }
+            bestQ1 = clampLimits(solution.elbowUpQ1);
+            bestQ2 = clampLimits(solution.elbowUpQ2);
+        }
+        
+        double[] positions = new double[4];
+        robot.forwardKinematics(bestQ1, bestQ2, positions);
+        RobotArm2D.Point2D endEffector = new RobotArm2D.Point2D(positions[2], positions[3]);
+        double error = endEffector.distanceTo(target);
+        
+        Individual best = new Individual(bestQ1, bestQ2);
+        best.setFitness(error);
+        List<InverseKinematicsController.GenerationResult> history = new ArrayList<>(1);
+        history.add(new InverseKinematicsController.GenerationResult(0, bestQ1, bestQ2, endEffector, error));
+        return new InverseKinematicsController.SolutionResult(best, history,
+            solution.reachable ? TerminationCriteria.CLOSED_FORM : TerminationCriteria.UNREACHABLE);
+    }
+    
+    private double fitLimits(double angle) {
+        return fitLimits(angle, minAngle, maxAngle);
+    }
+    
+    /**
+     * The angle shifted by whole turns into [minAngle, maxAngle], or NaN if no
+     * such shift exists.
+     */
+    static double fitLimits(double angle, double minAngle, double maxAngle) {
+        double wrapped = Math.IEEEremainder(angle, TWO_PI);
+        if (wrapped >= minAngle && wrapped <= maxAngle) {
+            return wrapped;
+        }
+        double shifted = wrapped < minAngle
+            ? wrapped + TWO_PI * Math.ceil((minAngle - wrapped) / TWO_PI)
+            : wrapped - TWO_PI * Math.ceil((wrapped - maxAngle) / TWO_PI);
+        return shifted >= minAngle && shifted <= maxAngle ? shifted : Double.NaN;
+    }
+    
+    private double clampLimits(double angle) {
+        double wrapped = Math.IEEEremainder(angle, TWO_PI);
+        return Math.max(minAngle, Math.min(maxAngle, wrapped));
+    }
+}
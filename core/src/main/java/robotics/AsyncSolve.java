@@ -0,0 +1,160 @@
+package robotics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Handle on a solve running in the background, returned by
+ * {@link InverseKinematicsController#solveAsync}. The best individual of every
+ * generation is published to subscribers of {@link #updates()}; a subscriber
+ * that falls behind misses updates instead of stalling the search. The
+ * {@link #result()} future completes with the solver's answer, or with the
+ * best answer so far when the solve is cancelled or its deadline passes. The
+ * partial answer's history follows the controller's {@link HistoryRetention}.
+ */
+public class AsyncSolve {
+    private final SubmissionPublisher<InverseKinematicsController.GenerationResult> publisher;
+    private final CompletableFuture<InverseKinematicsController.SolutionResult> result;
+    private final GenerationHistory history;
+    private final int dof;
+    private final TerminationCriterion deadline;
+    private InverseKinematicsController.GenerationResult best;
+    private boolean published;
+    private boolean stopped;
+    private volatile boolean cancelled;
+    
+    AsyncSolve(int dof, Duration deadline, HistoryRetention retention) {
+        this.publisher = new SubmissionPublisher<>();
+        this.result = new CompletableFuture<>();
+        this.history = retention.newHistory(dof);
+        this.dof = dof;
+        this.deadline = deadline == null ? null : TerminationCriterion.deadline(deadline);
+        if (deadline != null) {
+            CompletableFuture.delayedExecutor(deadline.toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> stop(this.deadline.toString()));
+        }
+    }
+    
+    /**
+     * Adds cancellation and the deadline to the controller's own criteria.
+     * The solver adds the result to the criteria it was built with.
+     */
+    TerminationCriteria criteria(TerminationCriteria base) {
+        TerminationCriteria criteria = base.and(
+            TerminationCriterion.named(TerminationCriteria.CANCELLED, progress -> cancelled));
+        if (deadline != null) {
+            criteria = criteria.and(deadline);
+        }
+        return criteria;
+    }
+    
+    /**
+     * Progress listener the controller attaches to the solver; publishes
+     * each generation.
+     */
+    void publish(SearchProgress progress) {
+        publish(progress.getLatest());
+    }
+    
+    void run(Supplier<InverseKinematicsController.SolutionResult> solve) {
+        try {
+            InverseKinematicsController.SolutionResult solution = solve.get();
+            boolean searched;
+            synchronized (this) {
+                searched = published;
+            }
+            if (!searched) {
+                for (InverseKinematicsController.GenerationResult generation : solution.history) {
+                    publish(generation);
+                }
+            }
+            result.complete(solution);
+            publisher.close();
+        } catch (Throwable ex) {
+            result.completeExceptionally(ex);
+            publisher.closeExceptionally(ex);
+        }
+    }
+    
+    /**
+     * Stops recording once a partial answer has been built, so its history
+     * does not change after it has been handed out.
+     */
+    private void publish(InverseKinematicsController.GenerationResult generation) {
+        synchronized (this) {
+            published = true;
+            if (!stopped) {
+                history.record(generation);
+                if (best == null || generation.error < best.error) {
+                    best = generation;
+                }
+            }
+        }
+        publisher.offer(generation, (subscriber, dropped) -> false);
+    }
+    
+    public Flow.Publisher<InverseKinematicsController.GenerationResult> updates() {
+        return publisher;
+    }
+    
+    public CompletableFuture<InverseKinematicsController.SolutionResult> result() {
+        return result;
+    }
+    
+    /**
+     * Best generation published so far, or null before the first one.
+     */
+    public synchronized InverseKinematicsController.GenerationResult getBestSoFar() {
+        return best;
+    }
+    
+    /**
+     * Completes the result with the best answer so far and stops the search
+     * at the end of its current generation.
+     */
+    public void cancel() {
+        if (stop(TerminationCriteria.CANCELLED)) {
+            cancelled = true;
+        }
+    }
+    
+    /**
+     * Whether {@link #cancel()} ended the solve; a passed deadline is
+     * reported through the result's {@code terminatedBy} instead.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * Builds the partial answer under the lock but completes the future
+     * outside it, since completing runs dependent stages on this thread and
+     * they may call back into {@link #getBestSoFar()} from another one.
+     */
+    private boolean stop(String reason) {
+        InverseKinematicsController.SolutionResult partial;
+        synchronized (this) {
+            if (stopped || result.isDone()) {
+                return false;
+            }
+            stopped = true;
+            partial = partialResult(reason);
+        }
+        return result.complete(partial);
+    }
+    
+    private InverseKinematicsController.SolutionResult partialResult(String reason) {
+        Individual individual;
+        if (best == null) {
+            individual = new Individual(new double[dof]);
+        } else {
+            individual = new Individual(best.genes);
+            individual.setFitness(best.error);
+        }
+        return new InverseKinematicsController.SolutionResult(individual, history, reason);
+    }
+}
@@ -0,0 +1,162 @@
+package robotics;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Headless batch IK: solves many targets concurrently on a fixed pool of
+ * worker threads. At most {@code maxInFlight} targets are pulled from the
+ * source ahead of the consumer, so arbitrarily long streams run in bounded
+ * memory. Results are handed to the consumer on the calling thread. Solvers
+ * keep no per-generation history, as only the final answer is reported.
+ * <p>
+ * Closing the service interrupts its workers, and the solvers stop an
+ * interrupted solve at the end of its current generation, so a batch ends
+ * promptly instead of running each solve to its generation budget.
+ */
+public class BatchIKService implements AutoCloseable {
+    private final RobotArm2D robot;
+    private final InverseKinematicsSolver solver;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private volatile boolean seeded;
+    private volatile long seed;
+    
+    public BatchIKService(RobotArm2D robot, InverseKinematicsSolver solver, int threads, int maxInFlight) {
+        this.robot = new RobotArm2D(robot.getA1(), robot.getA2());
+        this.solver = solver.withHistory(HistoryRetention.NONE);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ik-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public BatchIKService(RobotArm2D robot, InverseKinematicsSolver solver) {
+        this(robot, solver, Runtime.getRuntime().availableProcessors(),
+            4 * Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Solves target {@code i} of every later batch with a solver seeded from
+     * {@code seed} and {@code i}, so results are reproducible regardless of
+     * which worker picks the target up or how many workers there are.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seeded = true;
+    }
+    
+    public static class BatchResult {
+        public final int index;
+        public final RobotArm2D.Point2D target;
+        public final double q1;
+        public final double q2;
+        public final double error;
+        public final int generations;
+        public final long wallNanos;
+        public final Throwable failure;
+        
+        BatchResult(int index, RobotArm2D.Point2D target, double q1, double q2, double error,
+                    int generations, long wallNanos, Throwable failure) {
+            this.index = index;
+            this.target = target;
+            this.q1 = q1;
+            this.q2 = q2;
+            this.error = error;
+            this.generations = generations;
+            this.wallNanos = wallNanos;
+            this.failure = failure;
+        }
+        
+        public boolean isSolved(double errorThreshold) {
+            return failure == null && error < errorThreshold;
+        }
+        
+        @Override
+        public String toString() {
+            if (failure != null) {
+                return String.format("#%d %s failed: %s", index, target, failure);
+            }
+            return String.format("#%d %s q1=%.4f, q2=%.4f, error=%.6f, gens=%d, %.3f ms",
+                index, target, q1, q2, error, generations, wallNanos / 1e6);
+        }
+    }
+    
+    public List<BatchResult> solveAll(List<RobotArm2D.Point2D> targets, int maxGenerations,
+                                      double errorThreshold) throws InterruptedException {
+        BatchResult[] results = new BatchResult[targets.size()];
+        solveAll(targets.iterator(), maxGenerations, errorThreshold, result -> results[result.index] = result);
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * Streams targets through the pool, passing each result to {@code sink}
+     * as soon as it completes (not necessarily in input order). Blocks until
+     * every target has been solved. A solve that throws, errors included,
+     * yields a result whose {@code failure} holds what was thrown. If the
+     * calling thread is interrupted while it waits, the service is closed
+     * before the InterruptedException is thrown.
+     */
+    public void solveAll(Iterator<RobotArm2D.Point2D> targets, int maxGenerations, double errorThreshold,
+                         Consumer<BatchResult> sink) throws InterruptedException {
+        LinkedBlockingQueue<BatchResult> completed = new LinkedBlockingQueue<>();
+        int inFlight = 0;
+        int index = 0;
+        
+        try {
+            while (targets.hasNext()) {
+                if (inFlight == maxInFlight) {
+                    sink.accept(completed.take());
+                    inFlight--;
+                }
+                RobotArm2D.Point2D target = targets.next();
+                int targetIndex = index++;
+                executor.execute(() -> completed.add(solveOne(targetIndex, target, maxGenerations, errorThreshold)));
+                inFlight++;
+            }
+            while (inFlight > 0) {
+                sink.accept(completed.take());
+                inFlight--;
+            }
+        } catch (InterruptedException ex) {
+            close();
+            throw ex;
+        }
+    }
+    
+    private BatchResult solveOne(int index, RobotArm2D.Point2D target, int maxGenerations,
+                                 double errorThreshold) {
+        long start = System.nanoTime();
+        try {
+            InverseKinematicsSolver targetSolver = seeded
+                ? solver.withSeed(new SplittableRandom(seed + index).nextLong()) : solver;
+            InverseKinematicsController.SolutionResult result =
+                targetSolver.solve(robot, target, maxGenerations, errorThreshold);
+            Individual best = result.bestIndividual;
+            return new BatchResult(index, target, best.getQ1(), best.getQ2(), best.getFitness(),
+                result.generations, System.nanoTime() - start, null);
+        } catch (Throwable ex) {
+            return new BatchResult(index, target, Double.NaN, Double.NaN, Double.NaN,
+                0, System.nanoTime() - start, ex);
+        }
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package robotics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Immutable fitness kernel for a fixed set of link lengths. It holds no pose,
+ * so one instance can be shared by any number of threads.
+ */
+public final class FitnessEvaluator {
+    private final double[] lengths;
+    
+    public FitnessEvaluator(double... lengths) {
+        this.lengths = lengths.clone();
+    }
+    
+    public static FitnessEvaluator of(SerialChain2D chain) {
+        return new FitnessEvaluator(chain.getLengths());
+    }
+    
+    public int getDof() {
+        return lengths.length;
+    }
+    
+    public double getA1() {
+        return lengths[0];
+    }
+    
+    public double getA2() {
+        return lengths[1];
+    }
+    
+    public void evaluate(Population population, RobotArm2D.Point2D target) {
+        evaluate(population, target, 0, population.size());
+    }
+    
+    /**
+     * Evaluates members [from, to). A full-range call also records the best
+     * member on the population, found in the same pass.
+     */
+    public void evaluate(Population population, RobotArm2D.Point2D target, int from, int to) {
+        int best = evaluateRange(population, target, from, to);
+        population.setBestIndex(from == 0 && to == population.size() ? best : -1);
+    }
+    
+    /**
+     * Returns the index of the lowest fitness in [from, to), the first one on
+     * ties, or -1 for an empty range.
+     */
+    private int evaluateRange(Population population, RobotArm2D.Point2D target, int from, int to) {
+        if (population.getDof() != lengths.length) {
+            throw new IllegalArgumentException("Population has " + population.getDof()
+                + " genes but the chain has " + lengths.length + " joints");
+        }
+        double[] x = population.xArray();
+        double[] y = population.yArray();
+        double[] fitness = population.fitnessArray();
+        if (population.hasChainCache()) {
+            updateChain(population, from, to);
+        } else {
+            RobotArm2D.fk(lengths[0], lengths[1], population.q1Array(), population.q2Array(), x, y, from, to);
+        }
+        double tx = target.x;
+        double ty = target.y;
+        int best = -1;
+        double bestFitness = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            double dx = x[i] - tx;
+            double dy = y[i] - ty;
+            double f = Math.sqrt(dx * dx + dy * dy);
+            fitness[i] = f;
+            if (f < bestFitness) {
+                bestFitness = f;
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Brings the cached prefix of every member in [from, to) up to date,
+     * starting each one at its first stale link, and copies the end effector
+     * into x/y. Runs link-major so each pass streams one row of every array.
+     */
+    private void updateChain(Population population, int from, int to) {
+        double[][] genes = population.geneArrays();
+        double[][] theta = population.thetaArrays();
+        double[][] jointX = population.jointXArrays();
+        double[][] jointY = population.jointYArrays();
+        int[] dirtyFrom = population.dirtyFromArray();
+        int n = lengths.length;
+        
+        for (int k = 0; k < n; k++) {
+            double length = lengths[k];
+            double[] q = genes[k];
+            double[] t = theta[k];
+            double[] px = jointX[k];
+            double[] py = jointY[k];
+            for (int i = from; i < to; i++) {
+                if (k < dirtyFrom[i]) {
+                    continue;
+                }
+                double angle = q[i];
+                double baseX = 0;
+                double baseY = 0;
+                if (k > 0) {
+                    angle += theta[k - 1][i];
+                    baseX = jointX[k - 1][i];
+                    baseY = jointY[k - 1][i];
+                }
+                t[i] = angle;
+                px[i] = baseX + length * Math.cos(angle);
+                py[i] = baseY + length * Math.sin(angle);
+            }
+        }
+        
+        double[] x = population.xArray();
+        double[] y = population.yArray();
+        System.arraycopy(jointX[n - 1], from, x, from, to - from);
+        System.arraycopy(jointY[n - 1], from, y, from, to - from);
+        for (int i = from; i < to; i++) {
+            dirtyFrom[i] = n;
+        }
+    }
+    
+    /**
+     * Splits the population into chunks of at most {@code chunkSize} and
+     * evaluates them on {@code pool}. Every index is computed by the same
+     * sequential kernel, and the chunks' best members are reduced in index
+     * order, so the result is identical to {@link #evaluate}.
+     */
+    public void evaluate(Population population, RobotArm2D.Point2D target,
+                         ForkJoinPool pool, int chunkSize) {
+        int n = population.size();
+        if (pool == null || n <= chunkSize) {
+            evaluate(population, target, 0, n);
+        } else {
+            EvaluationTask task = new EvaluationTask(population, target, 0, n, chunkSize);
+            pool.invoke(task);
+            population.setBestIndex(task.best);
+        }
+    }
+    
+    @SuppressWarnings("serial")
+    private class EvaluationTask extends RecursiveAction {
+        private final Population population;
+        private final RobotArm2D.Point2D target;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        int best;
+        
+        EvaluationTask(Population population, RobotArm2D.Point2D target,
+                       int from, int to, int chunkSize) {
+            this.population = population;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                best = evaluateRange(population, target, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            EvaluationTask left = new EvaluationTask(population, target, from, mid, chunkSize);
+            EvaluationTask right = new EvaluationTask(population, target, mid, to, chunkSize);
+            invokeAll(left, right);
+            double[] fitness = population.fitnessArray();
+            best = right.best >= 0 && (left.best < 0 || fitness[right.best] < fitness[left.best])
+                ? right.best : left.best;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package robotics;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-generation best individuals of one solve, stored column-wise in
+ * primitive arrays and trimmed according to a {@link HistoryRetention}.
+ * Only solvers in this package record into it. As a List it is read-only
+ * and builds each GenerationResult on access; the primitive getters read
+ * entries without allocating.
+ */
+public class GenerationHistory extends AbstractList<InverseKinematicsController.GenerationResult> {
+    private final HistoryRetention retention;
+    private final int dof;
+    private int[] generations;
+    private double[] errors;
+    private double[] x;
+    private double[] y;
+    private double[][] genes;
+    private int count;
+    private int head;
+    private boolean hasTail;
+    private int recorded;
+    
+    GenerationHistory(HistoryRetention retention, int dof) {
+        this.retention = retention;
+        this.dof = dof;
+        int capacity;
+        switch (retention.getMode()) {
+            case NONE:
+                capacity = 0;
+                break;
+            case LAST_N:
+                capacity = retention.getParameter();
+                break;
+            default:
+                capacity = 16;
+        }
+        if (retention.getMode() == HistoryRetention.Mode.EVERY_KTH) {
+            capacity++;
+        }
+        this.generations = new int[capacity];
+        this.errors = new double[capacity];
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.genes = new double[dof][capacity];
+    }
+    
+    /**
+     * Full history holding the given results, for solvers that build their
+     * history as a list.
+     */
+    public static GenerationHistory of(List<InverseKinematicsController.GenerationResult> results) {
+        if (results instanceof GenerationHistory) {
+            return (GenerationHistory) results;
+        }
+        int dof = results.isEmpty() ? 2 : results.get(0).genes.length;
+        GenerationHistory history = HistoryRetention.FULL.newHistory(dof);
+        for (InverseKinematicsController.GenerationResult result : results) {
+            history.record(result);
+        }
+        return history;
+    }
+    
+    public HistoryRetention getRetention() {
+        return retention;
+    }
+    
+    void record(InverseKinematicsController.GenerationResult result) {
+        record(result.generation, result.genes, result.endEffectorPosition.x,
+            result.endEffectorPosition.y, result.error);
+    }
+    
+    /**
+     * Records one generation; {@code genes} is copied, so callers can reuse
+     * a scratch buffer.
+     */
+    void record(int generation, double[] genes, double x, double y, double error) {
+        recorded++;
+        int slot;
+        switch (retention.getMode()) {
+            case NONE:
+                return;
+            case LAST_N:
+                if (count < generations.length) {
+                    slot = count++;
+                } else {
+                    slot = head;
+                    head = (head + 1) % generations.length;
+                }
+                break;
+            case EVERY_KTH:
+                if (generation % retention.getParameter() == 0) {
+                    hasTail = false;
+                    slot = append();
+                } else {
+                    hasTail = true;
+                    slot = count;
+                    ensureCapacity(count + 1);
+                }
+                break;
+            default:
+                slot = append();
+        }
+        this.generations[slot] = generation;
+        this.errors[slot] = error;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        for (int k = 0; k < dof; k++) {
+            this.genes[k][slot] = genes[k];
+        }
+    }
+    
+    private int append() {
+        ensureCapacity(count + 2);
+        return count++;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity <= generations.length) {
+            return;
+        }
+        int grown = Math.max(capacity, generations.length * 2);
+        generations = Arrays.copyOf(generations, grown);
+        errors = Arrays.copyOf(errors, grown);
+        x = Arrays.copyOf(x, grown);
+        y = Arrays.copyOf(y, grown);
+        for (int k = 0; k < dof; k++) {
+            genes[k] = Arrays.copyOf(genes[k], grown);
+        }
+    }
+    
+    /**
+     * Number of generations recorded, including those not retained.
+     */
+    public int getRecordedGenerations() {
+        return recorded;
+    }
+    
+    @Override
+    public int size() {
+        return hasTail ? count + 1 : count;
+    }
+    
+    private int slot(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size());
+        }
+        return retention.getMode() == HistoryRetention.Mode.LAST_N
+            ? (head + index) % generations.length : index;
+    }
+    
+    public int getGeneration(int index) {
+        return generations[slot(index)];
+    }
+    
+    public double getError(int index) {
+        return errors[slot(index)];
+    }
+    
+    public double getX(int index) {
+        return x[slot(index)];
+    }
+    
+    public double getY(int index) {
+        return y[slot(index)];
+    }
+    
+    public double getGene(int index, int gene) {
+        return genes[gene][slot(index)];
+    }
+    
+    @Override
+    public InverseKinematicsController.GenerationResult get(int index) {
+        int slot = slot(index);
+        double[] values = new double[dof];
+        for (int k = 0; k < dof; k++) {
+            values[k] = genes[k][slot];
+        }
+        return new InverseKinematicsController.GenerationResult(generations[slot], values,
+            new RobotArm2D.Point2D(x[slot], y[slot]), errors[slot]);
+    }
+}
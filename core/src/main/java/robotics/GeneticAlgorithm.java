@@ -0,0 +1,565 @@
+package robotics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator;
+
+public class GeneticAlgorithm {
+    private static final int PAIR_SAMPLE_MASK = 31;
+    
+    private int populationSize;
+    private double mutationRate;
+    private double crossoverRate;
+    private double minAngle;
+    private double maxAngle;
+    private SelectionType selectionType;
+    private CrossoverType crossoverType;
+    private int dof;
+    private RandomGenerator random;
+    private ForkJoinPool evaluationPool;
+    private int evaluationChunkSize;
+    private double[] wheel;
+    private int[] parents;
+    private PoseIndex poseIndex;
+    private double poseIndexFraction;
+    
+    public enum SelectionType {
+        TOURNAMENT,
+        ROULETTE_WHEEL,
+        /**
+         * Roulette weights, but every parent of a generation is drawn with one
+         * spin of evenly spaced pointers, so each individual is picked close to
+         * its expected number of times.
+         */
+        STOCHASTIC_UNIVERSAL
+    }
+    
+    public enum CrossoverType {
+        SINGLE_POINT,
+        UNIFORM
+    }
+    
+    public GeneticAlgorithm(int populationSize, double mutationRate, double crossoverRate,
+                           double minAngle, double maxAngle, SelectionType selectionType,
+                           CrossoverType crossoverType) {
+        this(populationSize, mutationRate, crossoverRate, minAngle, maxAngle,
+             selectionType, crossoverType, 2);
+    }
+    
+    /**
+     * GA over a chromosome of {@code dof} joint angles, for chains of any
+     * number of links.
+     */
+    public GeneticAlgorithm(int populationSize, double mutationRate, double crossoverRate,
+                           double minAngle, double maxAngle, SelectionType selectionType,
+                           CrossoverType crossoverType, int dof) {
+        this.populationSize = populationSize;
+        this.mutationRate = mutationRate;
+        this.crossoverRate = crossoverRate;
+        this.minAngle = minAngle;
+        this.maxAngle = maxAngle;
+        this.selectionType = selectionType;
+        this.crossoverType = crossoverType;
+        this.dof = dof;
+        this.random = new SplittableRandom();
+        this.evaluationChunkSize = 4096;
+    }
+    
+    /**
+     * Restarts the random stream from {@code seed}. Runs that start from the
+     * same seed, with the same settings and target, are bit-identical.
+     */
+    public void setSeed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+    
+    /**
+     * Splits an independent stream off this GA's generator. The split streams
+     * depend only on the seed and the order of the calls, so a solver that
+     * takes one per solve never shares a generator between threads.
+     */
+    public synchronized RandomGenerator splitRandom() {
+        if (random instanceof RandomGenerator.SplittableGenerator) {
+            return ((RandomGenerator.SplittableGenerator) random).split();
+        }
+        return new SplittableRandom(random.nextLong());
+    }
+    
+    /**
+     * Copy of this configuration that draws from its own random stream, so
+     * several searches can run concurrently without sharing a generator.
+     */
+    public GeneticAlgorithm withRandom(RandomGenerator random) {
+        GeneticAlgorithm copy = new GeneticAlgorithm(populationSize, mutationRate, crossoverRate,
+            minAngle, maxAngle, selectionType, crossoverType, dof);
+        copy.random = random;
+        copy.evaluationPool = evaluationPool;
+        copy.evaluationChunkSize = evaluationChunkSize;
+        copy.poseIndex = poseIndex;
+        copy.poseIndexFraction = poseIndexFraction;
+        return copy;
+    }
+    
+    /**
+     * Fills {@code fraction} of each solve's initial population with the
+     * indexed configurations whose end effectors lie nearest the target,
+     * instead of uniform draws. Seeds passed to the solve explicitly take
+     * precedence. Pass null to draw uniformly again. Copies made earlier by
+     * withRandom, such as seeded solvers, keep the index they were made with.
+     */
+    public void setPoseIndex(PoseIndex index, double fraction) {
+        if (index != null && index.getDof() != dof) {
+            throw new IllegalArgumentException("Pose index has " + index.getDof()
+                + " joints but the genetic algorithm has " + dof + " genes");
+        }
+        this.poseIndex = index;
+        this.poseIndexFraction = Math.max(0, Math.min(1, fraction));
+    }
+    
+    public PoseIndex getPoseIndex() {
+        return poseIndex;
+    }
+    
+    public void setParallelEvaluation(ForkJoinPool pool, int chunkSize) {
+        this.evaluationPool = pool;
+        this.evaluationChunkSize = Math.max(1, chunkSize);
+    }
+    
+    public void setSequentialEvaluation() {
+        this.evaluationPool = null;
+    }
+    
+    public int getPopulationSize() {
+        return populationSize;
+    }
+    
+    public double getMinAngle() {
+        return minAngle;
+    }
+    
+    public double getMaxAngle() {
+        return maxAngle;
+    }
+    
+    public int getDof() {
+        return dof;
+    }
+    
+    public boolean isParallelEvaluation() {
+        return evaluationPool != null;
+    }
+    
+    public List<Individual> initializePopulation() {
+        List<Individual> population = new ArrayList<>();
+        for (int i = 0; i < populationSize; i++) {
+            population.add(Individual.createRandom(dof, minAngle, maxAngle, random));
+        }
+        return population;
+    }
+    
+    public Population createPopulation() {
+        return new Population(populationSize, dof);
+    }
+    
+    public void initializePopulation(Population population) {
+        initializePopulation(population, null, 0, 0);
+    }
+    
+    /**
+     * Initial population for a solve of {@code target}: around {@code seeds}
+     * if there are any, else around the pose index's nearest samples if one
+     * is set, else uniform.
+     */
+    public void initializePopulation(Population population, RobotArm2D.Point2D target,
+                                     Population seeds, double fraction, double spread) {
+        long start = SolverMetrics.start();
+        if ((seeds == null || seeds.size() == 0) && poseIndex != null && target != null) {
+            int nearest = (int) Math.round(population.size() * poseIndexFraction);
+            seeds = poseIndex.nearestPoses(target, nearest);
+            fraction = poseIndexFraction;
+            spread = 0;
+        }
+        fillPopulation(population, seeds, fraction, spread);
+        SolverMetrics.stop(SolverMetrics.Phase.INITIALIZE, start, population.size());
+    }
+    
+    /**
+     * Places {@code fraction} of the population around the given seed poses,
+     * cycling through them, with Gaussian noise of {@code spread} radians per
+     * gene. The rest is drawn uniformly as usual.
+     */
+    public void initializePopulation(Population population, Population seeds,
+                                     double fraction, double spread) {
+        long start = SolverMetrics.start();
+        fillPopulation(population, seeds, fraction, spread);
+        SolverMetrics.stop(SolverMetrics.Phase.INITIALIZE, start, population.size());
+    }
+    
+    private void fillPopulation(Population population, Population seeds, double fraction, double spread) {
+        int seeded = seeds == null || seeds.size() == 0
+            ? 0 : (int) Math.min(population.size(), Math.round(population.size() * fraction));
+        double[] genes = new double[population.getDof()];
+        for (int i = 0; i < seeded; i++) {
+            int seed = i % seeds.size();
+            for (int k = 0; k < genes.length; k++) {
+                double gene = seeds.getGene(seed, k);
+                if (i >= seeds.size()) {
+                    gene += random.nextGaussian() * spread;
+                }
+                genes[k] = Math.max(minAngle, Math.min(maxAngle, gene));
+            }
+            population.set(i, genes);
+        }
+        
+        double range = maxAngle - minAngle;
+        for (int i = seeded; i < population.size(); i++) {
+            for (int k = 0; k < genes.length; k++) {
+                genes[k] = minAngle + random.nextDouble() * range;
+            }
+            population.set(i, genes);
+        }
+    }
+    
+    public void evaluateFitness(List<Individual> population, RobotArm2D robot, 
+                                RobotArm2D.Point2D target) {
+        for (Individual individual : population) {
+            double distance = robot.endEffectorDistance(individual.getQ1(), individual.getQ2(), target);
+            individual.setFitness(distance);
+        }
+    }
+    
+    public void evaluateFitness(Population population, SerialChain2D chain, 
+                                RobotArm2D.Point2D target) {
+        evaluateFitness(population, FitnessEvaluator.of(chain), target);
+    }
+    
+    public void evaluateFitness(Population population, FitnessEvaluator evaluator,
+                                RobotArm2D.Point2D target) {
+        long start = SolverMetrics.start();
+        evaluator.evaluate(population, target, evaluationPool, evaluationChunkSize);
+        SolverMetrics.stop(SolverMetrics.Phase.EVALUATE, start, population.size());
+    }
+    
+    public Individual select(List<Individual> population) {
+        if (selectionType == SelectionType.TOURNAMENT) {
+            return tournamentSelection(population);
+        } else {
+            return rouletteWheelSelection(population);
+        }
+    }
+    
+    private Individual tournamentSelection(List<Individual> population) {
+        int tournamentSize = 3;
+        Individual best = population.get(random.nextInt(population.size()));
+        for (int i = 1; i < tournamentSize; i++) {
+            Individual competitor = population.get(random.nextInt(population.size()));
+            if (competitor.getFitness() < best.getFitness()) {
+                best = competitor;
+            }
+        }
+        return best.copy();
+    }
+    
+    private Individual rouletteWheelSelection(List<Individual> population) {
+        double maxFitness = population.stream()
+            .mapToDouble(Individual::getFitness)
+            .max()
+            .orElse(1.0);
+        
+        double totalInverseFitness = population.stream()
+            .mapToDouble(ind -> maxFitness - ind.getFitness() + 1.0)
+            .sum();
+        
+        double spin = random.nextDouble() * totalInverseFitness;
+        double current = 0;
+        
+        for (Individual individual : population) {
+            current += maxFitness - individual.getFitness() + 1.0;
+            if (current >= spin) {
+                return individual.copy();
+            }
+        }
+        
+        return population.get(population.size() - 1).copy();
+    }
+    
+    /**
+     * Draws one parent. For the weighted selection types this rebuilds the
+     * wheel for the population first, so it is only for tests; evolve()
+     * builds the wheel once per generation and draws from it directly.
+     */
+    int select(Population population) {
+        if (selectionType == SelectionType.TOURNAMENT) {
+            return tournamentSelection(population);
+        }
+        buildWheel(population);
+        return spinWheel();
+    }
+    
+    private int drawParent(Population population) {
+        if (selectionType == SelectionType.TOURNAMENT) {
+            return tournamentSelection(population);
+        }
+        return spinWheel();
+    }
+    
+    private int tournamentSelection(Population population) {
+        int tournamentSize = 3;
+        int best = random.nextInt(population.size());
+        for (int i = 1; i < tournamentSize; i++) {
+            int competitor = random.nextInt(population.size());
+            if (population.getFitness(competitor) < population.getFitness(best)) {
+                best = competitor;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Fills {@code wheel} with the running sum of the weights
+     * {@code max - fitness + 1}, accumulated in member order so a spin picks
+     * exactly the member the old linear scan picked.
+     */
+    void buildWheel(Population population) {
+        double[] fitness = population.fitnessArray();
+        if (wheel == null || wheel.length != fitness.length) {
+            wheel = new double[fitness.length];
+        }
+        double maxFitness = fitness.length > 0 ? fitness[0] : 1.0;
+        for (double f : fitness) {
+            maxFitness = Math.max(maxFitness, f);
+        }
+        double current = 0;
+        for (int i = 0; i < fitness.length; i++) {
+            current += maxFitness - fitness[i] + 1.0;
+            wheel[i] = current;
+        }
+    }
+    
+    private int spinWheel() {
+        return findOnWheel(random.nextDouble() * wheel[wheel.length - 1]);
+    }
+    
+    /**
+     * First member whose cumulative weight reaches {@code pointer}, by binary
+     * search.
+     */
+    int findOnWheel(double pointer) {
+        int low = 0;
+        int high = wheel.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (wheel[mid] >= pointer) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Stochastic universal sampling: {@code count} pointers spaced
+     * total/count apart from one random offset, walked along the wheel in a
+     * single pass. The picks come out in member order, so they are shuffled
+     * before being paired up.
+     */
+    int[] sampleUniversal(int count) {
+        if (parents == null || parents.length < count) {
+            parents = new int[count];
+        }
+        double step = wheel[wheel.length - 1] / count;
+        double pointer = random.nextDouble() * step;
+        int member = 0;
+        for (int p = 0; p < count; p++, pointer += step) {
+            while (member < wheel.length - 1 && wheel[member] < pointer) {
+                member++;
+            }
+            parents[p] = member;
+        }
+        for (int p = count - 1; p > 0; p--) {
+            int other = random.nextInt(p + 1);
+            int tmp = parents[p];
+            parents[p] = parents[other];
+            parents[other] = tmp;
+        }
+        return parents;
+    }
+    
+    public Individual[] crossover(Individual parent1, Individual parent2) {
+        if (random.nextDouble() > crossoverRate) {
+            return new Individual[]{parent1.copy(), parent2.copy()};
+        }
+        
+        if (crossoverType == CrossoverType.SINGLE_POINT) {
+            return singlePointCrossover(parent1, parent2);
+        } else {
+            return uniformCrossover(parent1, parent2);
+        }
+    }
+    
+    private Individual[] singlePointCrossover(Individual parent1, Individual parent2) {
+        int cut = crossoverPoint(parent1.getDof());
+        Individual child1 = parent1.copy();
+        Individual child2 = parent2.copy();
+        for (int k = cut; k < parent1.getDof(); k++) {
+            child1.setGene(k, parent2.getGene(k));
+            child2.setGene(k, parent1.getGene(k));
+        }
+        child1.setFitness(Double.MAX_VALUE);
+        child2.setFitness(Double.MAX_VALUE);
+        return new Individual[]{child1, child2};
+    }
+    
+    private Individual[] uniformCrossover(Individual parent1, Individual parent2) {
+        double[] child1 = new double[parent1.getDof()];
+        double[] child2 = new double[parent1.getDof()];
+        for (int k = 0; k < child1.length; k++) {
+            child1[k] = random.nextBoolean() ? parent1.getGene(k) : parent2.getGene(k);
+        }
+        for (int k = 0; k < child2.length; k++) {
+            child2[k] = random.nextBoolean() ? parent1.getGene(k) : parent2.getGene(k);
+        }
+        return new Individual[]{new Individual(child1), new Individual(child2)};
+    }
+    
+    /**
+     * First gene taken from the other parent in single-point crossover. Two
+     * joints always swap the second gene, as before chains were generalised.
+     */
+    private int crossoverPoint(int genes) {
+        return genes <= 2 ? genes - 1 : 1 + random.nextInt(genes - 1);
+    }
+    
+    private int crossover(Population parents, int parent1, int parent2,
+                          Population children, int index) {
+        boolean crossed = random.nextDouble() <= crossoverRate;
+        boolean uniform = crossed && crossoverType == CrossoverType.UNIFORM;
+        int cut = crossed && !uniform ? crossoverPoint(parents.getDof()) : parents.getDof();
+        
+        breed(parents, parent1, parent2, cut, uniform, children, index++);
+        if (index < children.size()) {
+            breed(parents, parent2, parent1, cut, uniform, children, index++);
+        }
+        return index;
+    }
+    
+    /**
+     * Writes one child that starts as a copy of {@code base}, including its
+     * cached link prefix, and then takes genes from {@code other} past the cut
+     * (or per gene for uniform crossover) before mutation. Only genes that end
+     * up different from the base invalidate the prefix, so a child differing
+     * from its base parent from gene k on is re-evaluated in O(N-k).
+     */
+    private void breed(Population parents, int base, int other, int cut, boolean uniform,
+                       Population children, int index) {
+        parents.copy(base, children, index);
+        for (int k = 0; k < parents.getDof(); k++) {
+            boolean fromOther = uniform ? random.nextBoolean() : k >= cut;
+            double gene = parents.getGene(fromOther ? other : base, k);
+            children.setGene(index, k, mutateGene(gene));
+        }
+    }
+    
+    public void mutate(Individual individual) {
+        for (int k = 0; k < individual.getDof(); k++) {
+            individual.setGene(k, mutateGene(individual.getGene(k)));
+        }
+    }
+    
+    private double mutateGene(double gene) {
+        if (random.nextDouble() < mutationRate) {
+            double perturbation = (random.nextDouble() - 0.5) * 0.5;
+            return Math.max(minAngle, Math.min(maxAngle, gene + perturbation));
+        }
+        return gene;
+    }
+    
+    public List<Individual> evolve(List<Individual> population) {
+        Population next = createPopulation();
+        evolve(Population.fromList(population), next);
+        return next.toList();
+    }
+    
+    /**
+     * Breeds {@code next} from {@code population}, which must be evaluated.
+     * The best tenth is carried over unchanged, picked by partial selection
+     * rather than a full sort. Roulette and universal sampling build their
+     * cumulative weights once per generation and then draw by binary search.
+     */
+    public void evolve(Population population, Population next) {
+        long start = SolverMetrics.start();
+        int eliteCount = Math.min(next.size(), Math.max(1, populationSize / 10));
+        int[] elites = population.selectBest(eliteCount);
+        for (int i = 0; i < eliteCount; i++) {
+            population.copy(elites[i], next, i);
+        }
+        
+        int index = eliteCount;
+        if (selectionType != SelectionType.TOURNAMENT) {
+            buildWheel(population);
+        }
+        if (selectionType == SelectionType.STOCHASTIC_UNIVERSAL) {
+            int[] chosen = sampleUniversal(2 * ((next.size() - eliteCount + 1) / 2));
+            long selected = start == 0 ? 0 : System.nanoTime();
+            for (int p = 0; index < next.size(); p += 2) {
+                index = crossover(population, chosen[p], chosen[p + 1], next, index);
+            }
+            if (start != 0) {
+                recordEvolve(start, selected - start, System.nanoTime() - selected, next.size());
+            }
+            return;
+        }
+        if (start == 0) {
+            while (index < next.size()) {
+                int parent1 = drawParent(population);
+                int parent2 = drawParent(population);
+                index = crossover(population, parent1, parent2, next, index);
+            }
+            return;
+        }
+        
+        long loopStart = System.nanoTime();
+        long sampledSelect = 0;
+        long sampledBreed = 0;
+        for (int pair = 0; index < next.size(); pair++) {
+            boolean sampled = (pair & PAIR_SAMPLE_MASK) == 0;
+            long pairStart = sampled ? System.nanoTime() : 0;
+            int parent1 = drawParent(population);
+            int parent2 = drawParent(population);
+            long drawn = sampled ? System.nanoTime() : 0;
+            index = crossover(population, parent1, parent2, next, index);
+            if (sampled) {
+                sampledSelect += drawn - pairStart;
+                sampledBreed += System.nanoTime() - drawn;
+            }
+        }
+        long loopNanos = System.nanoTime() - loopStart;
+        long sampledTotal = sampledSelect + sampledBreed;
+        long loopSelect = sampledTotal == 0 ? 0 : Math.round((double) loopNanos * sampledSelect / sampledTotal);
+        recordEvolve(start, loopStart - start + loopSelect, loopNanos - loopSelect, next.size());
+    }
+    
+    /**
+     * Records one evolve step. Selection covers the elites, the wheel and
+     * the parent draws; breeding covers crossover and mutation. Parent draws
+     * and crossover alternate, so their split is measured on one pair in
+     * {@code PAIR_SAMPLE_MASK + 1} and applied to the whole loop.
+     */
+    private static void recordEvolve(long start, long selectNanos, long breedNanos, int individuals) {
+        SolverMetrics.record(SolverMetrics.Phase.SELECT, selectNanos, individuals);
+        SolverMetrics.record(SolverMetrics.Phase.BREED, breedNanos, individuals);
+        SolverMetrics.record(SolverMetrics.Phase.EVOLVE, System.nanoTime() - start, individuals);
+    }
+    
+    public Individual getBest(List<Individual> population) {
+        return Collections.min(population);
+    }
+    
+    public int getBestIndex(Population population) {
+        return population.getBestIndex();
+    }
+}
@@ -0,0 +1,178 @@
+package robotics;
+
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+public class GeneticAlgorithmSolver implements InverseKinematicsSolver {
+    private final GeneticAlgorithm ga;
+    private final TerminationCriteria termination;
+    private final HistoryRetention retention;
+    private final Consumer<SearchProgress> progressListener;
+    
+    public GeneticAlgorithmSolver(GeneticAlgorithm ga) {
+        this(ga, TerminationCriteria.NONE);
+    }
+    
+    public GeneticAlgorithmSolver(GeneticAlgorithm ga, TerminationCriteria termination) {
+        this(ga, termination, HistoryRetention.FULL);
+    }
+    
+    public GeneticAlgorithmSolver(GeneticAlgorithm ga, TerminationCriteria termination,
+                                  HistoryRetention retention) {
+        this(ga, termination, retention, null);
+    }
+    
+    private GeneticAlgorithmSolver(GeneticAlgorithm ga, TerminationCriteria termination,
+                                   HistoryRetention retention, Consumer<SearchProgress> progressListener) {
+        this.ga = ga;
+        this.termination = termination;
+        this.retention = retention;
+        this.progressListener = progressListener;
+    }
+    
+    public GeneticAlgorithm getGeneticAlgorithm() {
+        return ga;
+    }
+    
+    @Override
+    public double getMinAngle() {
+        return ga.getMinAngle();
+    }
+    
+    @Override
+    public double getMaxAngle() {
+        return ga.getMaxAngle();
+    }
+    
+    @Override
+    public GeneticAlgorithmSolver withSeed(long seed) {
+        return new GeneticAlgorithmSolver(ga.withRandom(new SplittableRandom(seed)), termination, retention,
+            progressListener);
+    }
+    
+    @Override
+    public GeneticAlgorithmSolver withTermination(TerminationCriteria criteria) {
+        return new GeneticAlgorithmSolver(ga, termination.and(criteria), retention, progressListener);
+    }
+    
+    @Override
+    public GeneticAlgorithmSolver withHistory(HistoryRetention retention) {
+        return new GeneticAlgorithmSolver(ga, termination, retention, progressListener);
+    }
+    
+    @Override
+    public GeneticAlgorithmSolver withProgressListener(Consumer<SearchProgress> listener) {
+        return new GeneticAlgorithmSolver(ga, termination, retention,
+            progressListener == null ? listener : progressListener.andThen(listener));
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold) {
+        return solve(robot, target, maxGenerations, errorThreshold, null, 0, 0);
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold,
+                                                            Population seeds, double seedFraction,
+                                                            double seedSpread) {
+        return solve((SerialChain2D) robot, target, maxGenerations, errorThreshold,
+            seeds, seedFraction, seedSpread);
+    }
+    
+    /**
+     * Solves IK for a chain of any number of links. The genetic algorithm
+     * must have been built with the chain's number of joints. Each solve
+     * draws from its own stream split off the GA's generator, so concurrent
+     * solves never contend on one Random.
+     */
+    public InverseKinematicsController.SolutionResult solve(SerialChain2D chain, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold,
+                                                            Population seeds, double seedFraction,
+                                                            double seedSpread) {
+        return solve(chain, target, maxGenerations, errorThreshold, seeds, seedFraction, seedSpread,
+            new SearchProgress());
+    }
+    
+    InverseKinematicsController.SolutionResult solve(SerialChain2D chain, RobotArm2D.Point2D target,
+                                                     int maxGenerations, double errorThreshold,
+                                                     Population seeds, double seedFraction,
+                                                     double seedSpread, SearchProgress progress) {
+        if (ga.getDof() != chain.getDof()) {
+            throw new IllegalArgumentException("Genetic algorithm has " + ga.getDof()
+                + " genes but the chain has " + chain.getDof() + " joints");
+        }
+        InverseKinematicsController.SolutionResult unreachable = termination.closestReachable(chain, target);
+        if (unreachable != null) {
+            return unreachable;
+        }
+        GeneticAlgorithm ga = this.ga.withRandom(this.ga.splitRandom());
+        GenerationHistory history = retention.newHistory(chain.getDof());
+        
+        FitnessEvaluator evaluator = FitnessEvaluator.of(chain);
+        Population population = ga.createPopulation();
+        Population offspring = ga.createPopulation();
+        ga.initializePopulation(population, target, seeds, seedFraction, seedSpread);
+        
+        double[] genes = new double[chain.getDof()];
+        double[] bestGenes = new double[chain.getDof()];
+        double bestFitness = Double.MAX_VALUE;
+        String stopReason = TerminationCriteria.MAX_GENERATIONS;
+        if (maxGenerations < 1) {
+            // No budget to evolve, but the initial population is still an answer.
+            ga.evaluateFitness(population, evaluator, target);
+            int best = ga.getBestIndex(population);
+            for (int k = 0; k < bestGenes.length; k++) {
+                bestGenes[k] = population.getGene(best, k);
+            }
+            bestFitness = population.getFitness(best);
+        }
+        
+        for (int generation = 0; generation < maxGenerations; generation++) {
+            ga.evaluateFitness(population, evaluator, target);
+            
+            int best = ga.getBestIndex(population);
+            for (int k = 0; k < genes.length; k++) {
+                genes[k] = population.getGene(best, k);
+            }
+            double fitness = population.getFitness(best);
+            double x = population.getX(best);
+            double y = population.getY(best);
+            history.record(generation, genes, x, y, fitness);
+            
+            if (fitness < bestFitness) {
+                System.arraycopy(genes, 0, bestGenes, 0, genes.length);
+                bestFitness = fitness;
+            }
+            
+            progress.record(generation, genes, x, y, fitness, population);
+            if (progressListener != null) {
+                progressListener.accept(progress);
+            }
+            String fired = termination.check(progress);
+            if (fitness < errorThreshold) {
+                stopReason = TerminationCriteria.ERROR_THRESHOLD;
+                break;
+            }
+            if (fired != null) {
+                stopReason = fired;
+                break;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                stopReason = TerminationCriteria.CANCELLED;
+                break;
+            }
+            
+            ga.evolve(population, offspring);
+            Population swap = population;
+            population = offspring;
+            offspring = swap;
+        }
+        
+        progress.stop(stopReason);
+        Individual bestOverall = new Individual(bestGenes);
+        bestOverall.setFitness(bestFitness);
+        return new InverseKinematicsController.SolutionResult(bestOverall, history, stopReason);
+    }
+}
@@ -0,0 +1,62 @@
+package robotics;
+
+/**
+ * How much of a solve's per-generation history to keep. The number of
+ * generations run is always reported, whatever the mode.
+ */
+public final class HistoryRetention {
+    public enum Mode {
+        NONE,
+        LAST_N,
+        EVERY_KTH,
+        FULL
+    }
+    
+    public static final HistoryRetention NONE = new HistoryRetention(Mode.NONE, 0);
+    public static final HistoryRetention FULL = new HistoryRetention(Mode.FULL, 0);
+    
+    private final Mode mode;
+    private final int parameter;
+    
+    private HistoryRetention(Mode mode, int parameter) {
+        this.mode = mode;
+        this.parameter = parameter;
+    }
+    
+    /**
+     * Keeps the most recent {@code n} generations in a ring buffer.
+     */
+    public static HistoryRetention lastN(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        return new HistoryRetention(Mode.LAST_N, n);
+    }
+    
+    /**
+     * Keeps generations 0, k, 2k, ... plus the most recent one.
+     */
+    public static HistoryRetention everyKth(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        return new HistoryRetention(Mode.EVERY_KTH, k);
+    }
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    public int getParameter() {
+        return parameter;
+    }
+    
+    public GenerationHistory newHistory(int dof) {
+        return new GenerationHistory(this, dof);
+    }
+    
+    @Override
+    public String toString() {
+        return mode == Mode.NONE || mode == Mode.FULL ? mode.toString() : mode + "(" + parameter + ")";
+    }
+}
@@ -0,0 +1,92 @@
+package robotics;
+
+import java.util.function.Consumer;
+
+/**
+ * Runs a short GA search for a global starting point, then refines its best
+ * individual with a Jacobian solver for the rest of the generation budget.
+ */
+public class HybridIKSolver implements InverseKinematicsSolver {
+    private final GeneticAlgorithmSolver seeder;
+    private final JacobianIKSolver refiner;
+    private final int seedGenerations;
+    
+    public HybridIKSolver(GeneticAlgorithm ga, int seedGenerations) {
+        this(new GeneticAlgorithmSolver(ga), seedGenerations,
+            new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES, 0.1,
+                ga.getMinAngle(), ga.getMaxAngle()));
+    }
+    
+    public HybridIKSolver(GeneticAlgorithmSolver seeder, int seedGenerations, JacobianIKSolver refiner) {
+        this.seeder = seeder;
+        this.seedGenerations = seedGenerations;
+        this.refiner = refiner;
+    }
+    
+    /**
+     * The refiner's limits, which bound the final answer.
+     */
+    @Override
+    public double getMinAngle() {
+        return refiner.getMinAngle();
+    }
+    
+    @Override
+    public double getMaxAngle() {
+        return refiner.getMaxAngle();
+    }
+    
+    @Override
+    public HybridIKSolver withSeed(long seed) {
+        return new HybridIKSolver(seeder.withSeed(seed), seedGenerations, refiner);
+    }
+    
+    @Override
+    public HybridIKSolver withTermination(TerminationCriteria criteria) {
+        return new HybridIKSolver(seeder.withTermination(criteria), seedGenerations,
+            refiner.withTermination(criteria));
+    }
+    
+    @Override
+    public HybridIKSolver withHistory(HistoryRetention retention) {
+        return new HybridIKSolver(seeder.withHistory(retention), seedGenerations,
+            refiner.withHistory(retention));
+    }
+    
+    @Override
+    public HybridIKSolver withProgressListener(Consumer<SearchProgress> listener) {
+        return new HybridIKSolver(seeder.withProgressListener(listener), seedGenerations,
+            refiner.withProgressListener(listener));
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold) {
+        return solve(robot, target, maxGenerations, errorThreshold, null, 0, 0);
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold,
+                                                            Population seeds, double seedFraction,
+                                                            double seedSpread) {
+        int gaGenerations = Math.min(seedGenerations, maxGenerations);
+        SearchProgress progress = new SearchProgress();
+        InverseKinematicsController.SolutionResult seed = seeder.solve(robot, target,
+            gaGenerations, errorThreshold, seeds, seedFraction, seedSpread, progress);
+        Individual seedBest = seed.bestIndividual;
+        // Only a seeder that used up its share of the budget hands over; one
+        // that was cancelled, hit a criterion or the threshold, or found the
+        // target unreachable has already given the answer.
+        if (!TerminationCriteria.MAX_GENERATIONS.equals(seed.terminatedBy) || gaGenerations >= maxGenerations) {
+            return seed;
+        }
+        
+        GenerationHistory history = seed.history;
+        int generations = history.getRecordedGenerations();
+        Individual refined = refiner.refine(robot, target, maxGenerations - generations,
+            errorThreshold, seedBest.getQ1(), seedBest.getQ2(), history, generations, progress);
+        Individual best = refined.getFitness() <= seedBest.getFitness() ? refined : seedBest;
+        return new InverseKinematicsController.SolutionResult(best, history, progress.getStopReason());
+    }
+}
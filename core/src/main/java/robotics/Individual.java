@@ -0,0 +1,86 @@
+package robotics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+public class Individual implements Comparable<Individual> {
+    private final double[] genes;
+    private double fitness;
+    
+    public Individual(double q1, double q2) {
+        this(new double[]{q1, q2});
+    }
+    
+    public Individual(double[] genes) {
+        this.genes = genes.clone();
+        this.fitness = Double.MAX_VALUE;
+    }
+    
+    public static Individual createRandom(double minAngle, double maxAngle) {
+        return createRandom(2, minAngle, maxAngle);
+    }
+    
+    public static Individual createRandom(int dof, double minAngle, double maxAngle) {
+        return createRandom(dof, minAngle, maxAngle, ThreadLocalRandom.current());
+    }
+    
+    public static Individual createRandom(int dof, double minAngle, double maxAngle,
+                                          RandomGenerator random) {
+        double[] genes = new double[dof];
+        for (int k = 0; k < dof; k++) {
+            genes[k] = minAngle + random.nextDouble() * (maxAngle - minAngle);
+        }
+        return new Individual(genes);
+    }
+    
+    public int getDof() {
+        return genes.length;
+    }
+    
+    public double getGene(int index) {
+        return genes[index];
+    }
+    
+    public void setGene(int index, double value) {
+        genes[index] = value;
+    }
+    
+    public double[] getGenes() {
+        return genes.clone();
+    }
+    
+    public double getQ1() {
+        return genes[0];
+    }
+    
+    public double getQ2() {
+        return genes[1];
+    }
+    
+    public void setQ1(double q1) {
+        genes[0] = q1;
+    }
+    
+    public void setQ2(double q2) {
+        genes[1] = q2;
+    }
+    
+    public double getFitness() {
+        return fitness;
+    }
+    
+    public void setFitness(double fitness) {
+        this.fitness = fitness;
+    }
+    
+    public Individual copy() {
+        Individual copy = new Individual(this.genes);
+        copy.fitness = this.fitness;
+        return copy;
+    }
+    
+    @Override
+    public int compareTo(Individual other) {
+        return Double.compare(this.fitness, other.fitness);
+    }
+}
@@ -0,0 +1,324 @@
+package robotics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+public class InverseKinematicsController {
+    private RobotArm2D robot;
+    private InverseKinematicsSolver solver;
+    private volatile List<GenerationResult> generationHistory;
+    private volatile List<IslandModelSolver.IslandStats> islandStats;
+    private SolutionCache cache;
+    private WorkspaceGrid grid;
+    private TerminationCriteria termination = TerminationCriteria.NONE;
+    private HistoryRetention historyRetention;
+    private volatile RunLogWriter runLog;
+    private final List<Consumer<SearchProgress>> progressListeners = new CopyOnWriteArrayList<>();
+    
+    public InverseKinematicsController(RobotArm2D robot, GeneticAlgorithm ga) {
+        this(robot, new GeneticAlgorithmSolver(ga));
+    }
+    
+    public InverseKinematicsController(RobotArm2D robot, InverseKinematicsSolver solver) {
+        this.robot = robot;
+        this.solver = solver;
+        this.generationHistory = Collections.emptyList();
+        this.islandStats = Collections.emptyList();
+    }
+    
+    /**
+     * Safe to call concurrently: all search state is local to the solve, and
+     * getGenerationHistory() reflects whichever solve finished last.
+     */
+    public SolutionResult solve(RobotArm2D.Point2D target, int maxGenerations, double errorThreshold) {
+        return solve(target, maxGenerations, errorThreshold, termination, null);
+    }
+    
+    /**
+     * Starts a solve on {@code executor} and returns at once. Each generation
+     * is published through the returned handle as it completes. When
+     * {@code deadline} is not null, the handle's result completes with the
+     * best answer so far once the deadline has passed, even if the solver is
+     * still inside a generation.
+     */
+    public AsyncSolve solveAsync(RobotArm2D.Point2D target, int maxGenerations, double errorThreshold,
+                                 Duration deadline, Executor executor) {
+        AsyncSolve handle = new AsyncSolve(robot.getDof(), deadline,
+            historyRetention == null ? HistoryRetention.FULL : historyRetention);
+        TerminationCriteria criteria = handle.criteria(termination);
+        executor.execute(() -> handle.run(() -> solve(target, maxGenerations, errorThreshold, criteria,
+            handle::publish)));
+        return handle;
+    }
+    
+    public AsyncSolve solveAsync(RobotArm2D.Point2D target, int maxGenerations, double errorThreshold,
+                                 Duration deadline) {
+        return solveAsync(target, maxGenerations, errorThreshold, deadline, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * The controller's criteria are added to the solver's own, and its
+     * history retention only replaces the solver's when one was set.
+     * {@code listener} follows the controller's progress listeners and run
+     * log; it may be null.
+     */
+    private SolutionResult solve(RobotArm2D.Point2D target, int maxGenerations, double errorThreshold,
+                                 TerminationCriteria termination, Consumer<SearchProgress> listener) {
+        long start = SolverMetrics.start();
+        long allocated = start == 0 ? 0 : SolverMetrics.allocatedBytes();
+        RunLogWriter runLog = this.runLog;
+        RunLogWriter.SolveLog log = runLog == null ? null : runLog.beginSolve(target);
+        InverseKinematicsSolver solver = this.solver;
+        if (termination != TerminationCriteria.NONE) {
+            solver = solver.withTermination(termination);
+        }
+        if (!progressListeners.isEmpty()) {
+            solver = solver.withProgressListener(this::notifyProgressListeners);
+        }
+        if (log != null) {
+            solver = solver.withProgressListener(log);
+        }
+        if (listener != null) {
+            solver = solver.withProgressListener(listener);
+        }
+        HistoryRetention historyRetention = this.historyRetention;
+        if (historyRetention != null) {
+            solver = solver.withHistory(historyRetention);
+        }
+        SolutionResult result;
+        if (cache == null) {
+            result = solveFromGrid(solver, target, maxGenerations, errorThreshold);
+        } else {
+            result = solveCached(solver, target, maxGenerations, errorThreshold);
+        }
+        if (log != null && log.getRecorded() == 0) {
+            log.append(result.history);
+        }
+        generationHistory = result.history;
+        islandStats = result.islands;
+        SolverMetrics.solved(start, allocated, solver, result);
+        return result;
+    }
+    
+    private void notifyProgressListeners(SearchProgress progress) {
+        for (Consumer<SearchProgress> listener : progressListeners) {
+            listener.accept(progress);
+        }
+    }
+    
+    private SolutionResult solveCached(InverseKinematicsSolver solver, RobotArm2D.Point2D target,
+                                       int maxGenerations, double errorThreshold) {
+        double minAngle = solver.getMinAngle();
+        double maxAngle = solver.getMaxAngle();
+        Individual cached = cache.lookup(robot, minAngle, maxAngle, target, errorThreshold);
+        if (cached != null) {
+            double[] positions = new double[4];
+            robot.forwardKinematics(cached.getQ1(), cached.getQ2(), positions);
+            List<GenerationResult> history = new ArrayList<>(1);
+            history.add(new GenerationResult(0, cached.getQ1(), cached.getQ2(),
+                new RobotArm2D.Point2D(positions[2], positions[3]), cached.getFitness()));
+            return new SolutionResult(cached, history, TerminationCriteria.CACHE_HIT);
+        }
+        
+        Population seeds = cache.nearest(robot, minAngle, maxAngle, target);
+        SolutionResult result = seeds == null || seeds.size() == 0
+            ? solveFromGrid(solver, target, maxGenerations, errorThreshold)
+            : solver.solve(robot, target, maxGenerations, errorThreshold,
+                seeds, cache.getSeedFraction(), cache.getSeedSpread());
+        if (result.bestIndividual.getFitness() < errorThreshold) {
+            cache.put(robot, minAngle, maxAngle, target, result.bestIndividual);
+        }
+        return result;
+    }
+    
+    /**
+     * Seeds the solve from the target's workspace grid cell when a grid for
+     * this arm is set, so iterative solvers refine from a nearby pose.
+     */
+    private SolutionResult solveFromGrid(InverseKinematicsSolver solver, RobotArm2D.Point2D target,
+                                         int maxGenerations, double errorThreshold) {
+        WorkspaceGrid grid = this.grid;
+        Population cell = grid != null && grid.matches(robot, solver.getMinAngle(), solver.getMaxAngle())
+            ? grid.seeds(target) : null;
+        if (cell == null) {
+            return solver.solve(robot, target, maxGenerations, errorThreshold);
+        }
+        return solver.solve(robot, target, maxGenerations, errorThreshold,
+            cell, grid.getSeedFraction(), grid.getSeedSpread());
+    }
+    
+    /**
+     * Precomputed workspace grid whose cell poses seed every solve on this
+     * controller's arm; pass null to solve from scratch. A grid built for
+     * other link lengths or other joint limits than the solver's is ignored.
+     */
+    public void setWorkspaceGrid(WorkspaceGrid grid) {
+        this.grid = grid;
+    }
+    
+    public WorkspaceGrid getWorkspaceGrid() {
+        return grid;
+    }
+    
+    /**
+     * Enables the solution cache for this controller; pass null to disable it.
+     * A cache may be shared between controllers.
+     */
+    public void setSolutionCache(SolutionCache cache) {
+        this.cache = cache;
+    }
+    
+    public SolutionCache getSolutionCache() {
+        return cache;
+    }
+    
+    /**
+     * Log that every later solve of this controller appends its generations
+     * to as they are searched, or null for none. Solves that never search,
+     * such as cache hits, log their result's history instead. The writer is
+     * not closed by the controller, and must log as many joints as the arm has.
+     */
+    public void setRunLog(RunLogWriter runLog) {
+        if (runLog != null && runLog.getDof() != robot.getDof()) {
+            throw new IllegalArgumentException("Run log is for a " + runLog.getDof()
+                + "-joint chain but the arm has " + robot.getDof() + " joints");
+        }
+        this.runLog = runLog;
+    }
+    
+    public RunLogWriter getRunLog() {
+        return runLog;
+    }
+    
+    /**
+     * Hands the {@link SearchProgress} of every generation of every later
+     * solve to {@code listener}, on the solver's thread and before the
+     * termination criteria are checked. The listener may read the current
+     * population but must not keep the progress object past the call.
+     * Listeners only see solves that had at least one listener when they
+     * started; removing one takes effect at once.
+     */
+    public void addProgressListener(Consumer<SearchProgress> listener) {
+        progressListeners.add(listener);
+    }
+    
+    public void removeProgressListener(Consumer<SearchProgress> listener) {
+        progressListeners.remove(listener);
+    }
+    
+    /**
+     * Early-termination criteria applied to every solve of this controller,
+     * on top of the error threshold, the generation budget and the criteria
+     * the solver was built with.
+     */
+    public void setTerminationCriteria(TerminationCriteria termination) {
+        this.termination = termination == null ? TerminationCriteria.NONE : termination;
+    }
+    
+    public TerminationCriteria getTerminationCriteria() {
+        return termination;
+    }
+    
+    /**
+     * How much per-generation history solves keep. Null, the default, keeps
+     * whatever the solver was built with.
+     */
+    public void setHistoryRetention(HistoryRetention historyRetention) {
+        this.historyRetention = historyRetention;
+    }
+    
+    public HistoryRetention getHistoryRetention() {
+        return historyRetention;
+    }
+    
+    public InverseKinematicsSolver getSolver() {
+        return solver;
+    }
+    
+    public void setSolver(InverseKinematicsSolver solver) {
+        this.solver = solver;
+    }
+    
+    /**
+     * History of the last solve. The list is read-only and is not copied.
+     */
+    public List<GenerationResult> getGenerationHistory() {
+        return generationHistory;
+    }
+    
+    /**
+     * Per-island statistics of the last solve, or an empty list when the
+     * solver is not an {@link IslandModelSolver}.
+     */
+    public List<IslandModelSolver.IslandStats> getIslandStats() {
+        return islandStats;
+    }
+    
+    public static class GenerationResult {
+        public final int generation;
+        public final double q1;
+        public final double q2;
+        public final double[] genes;
+        public final RobotArm2D.Point2D endEffectorPosition;
+        public final double error;
+        
+        public GenerationResult(int generation, double q1, double q2, 
+                              RobotArm2D.Point2D endEffectorPosition, double error) {
+            this(generation, new double[]{q1, q2}, endEffectorPosition, error);
+        }
+        
+        /**
+         * Result for a chain of any length; q1 and q2 hold the first two
+         * joint angles (q2 is 0 for a single link).
+         */
+        public GenerationResult(int generation, double[] genes,
+                              RobotArm2D.Point2D endEffectorPosition, double error) {
+            this.generation = generation;
+            this.genes = genes;
+            this.q1 = genes[0];
+            this.q2 = genes.length > 1 ? genes[1] : 0;
+            this.endEffectorPosition = endEffectorPosition;
+            this.error = error;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Gen %d: q1=%.4f, q2=%.4f, pos=%s, error=%.6f",
+                generation, q1, q2, endEffectorPosition, error);
+        }
+    }
+    
+    public static class SolutionResult {
+        public final Individual bestIndividual;
+        public final GenerationHistory history;
+        /** Generations actually run, including any the history did not retain. */
+        public final int generations;
+        public final List<IslandModelSolver.IslandStats> islands;
+        /** Name of the criterion that ended the solve, see {@link TerminationCriteria}. */
+        public final String terminatedBy;
+        
+        public SolutionResult(Individual bestIndividual, List<GenerationResult> history) {
+            this(bestIndividual, history, Collections.emptyList(), null);
+        }
+        
+        public SolutionResult(Individual bestIndividual, List<GenerationResult> history,
+                              String terminatedBy) {
+            this(bestIndividual, history, Collections.emptyList(), terminatedBy);
+        }
+        
+        public SolutionResult(Individual bestIndividual, List<GenerationResult> history,
+                              List<IslandModelSolver.IslandStats> islands, String terminatedBy) {
+            this.bestIndividual = bestIndividual;
+            this.history = GenerationHistory.of(history);
+            this.generations = this.history.getRecordedGenerations();
+            this.islands = Collections.unmodifiableList(new ArrayList<>(islands));
+            this.terminatedBy = terminatedBy;
+        }
+    }
+}
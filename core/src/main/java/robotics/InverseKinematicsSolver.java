@@ -0,0 +1,71 @@
+package robotics;
+
+import java.util.function.Consumer;
+
+public interface InverseKinematicsSolver {
+    /**
+     * Iterative solvers stop at the end of the current generation when the
+     * calling thread is interrupted and report
+     * {@link TerminationCriteria#CANCELLED}, leaving the interrupt status set.
+     */
+    InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                     int maxGenerations, double errorThreshold);
+    
+    /**
+     * Solves starting near the given poses. Solvers that cannot use a starting
+     * point ignore the seeds.
+     */
+    default InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                             int maxGenerations, double errorThreshold,
+                                                             Population seeds, double seedFraction,
+                                                             double seedSpread) {
+        return solve(robot, target, maxGenerations, errorThreshold);
+    }
+    
+    /**
+     * Solver whose random choices all derive from {@code seed}, so repeated
+     * solves of the same target are reproducible. Deterministic solvers return
+     * themselves.
+     */
+    default InverseKinematicsSolver withSeed(long seed) {
+        return this;
+    }
+    
+    /**
+     * Lower joint limit the solver keeps its answers within, the same for
+     * every joint; unlimited unless the solver says otherwise.
+     */
+    default double getMinAngle() {
+        return Double.NEGATIVE_INFINITY;
+    }
+    
+    default double getMaxAngle() {
+        return Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Solver that also stops as soon as one of {@code criteria} fires, on
+     * top of the criteria it already has. Solvers without an iterative
+     * search return themselves.
+     */
+    default InverseKinematicsSolver withTermination(TerminationCriteria criteria) {
+        return this;
+    }
+    
+    /**
+     * Solver that keeps only the history selected by {@code retention}.
+     * Solvers that report a single result return themselves.
+     */
+    default InverseKinematicsSolver withHistory(HistoryRetention retention) {
+        return this;
+    }
+    
+    /**
+     * Solver that also hands the {@link SearchProgress} of every generation
+     * to {@code listener}, on the solving thread and after any listener it
+     * already has. Solvers without an iterative search return themselves.
+     */
+    default InverseKinematicsSolver withProgressListener(Consumer<SearchProgress> listener) {
+        return this;
+    }
+}
@@ -0,0 +1,452 @@
+package robotics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Island-model GA. Each of K islands evolves its own population, with the
+ * template's size and settings, on a worker thread and with its own
+ * SplittableRandom stream. Every {@code migrationInterval} generations the
+ * best {@code migrants} of each island replace the worst members of the next
+ * island on the ring, or of a randomly chosen island.
+ * <p>
+ * An island that reaches the error threshold stops, and the solve ends after
+ * that epoch. Islands never observe each other mid-epoch, so for a given seed
+ * the result does not depend on thread scheduling or pool size.
+ * <p>
+ * Progress is reported for every generation, but the population of the
+ * leading island is attached only to the last generation of each epoch, so
+ * population-based criteria and views update once per migration interval.
+ */
+public class IslandModelSolver implements InverseKinematicsSolver, AutoCloseable {
+    private final GeneticAlgorithm template;
+    private final int islandCount;
+    private final int migrationInterval;
+    private final int migrants;
+    private final Topology topology;
+    private final ExecutorService executor;
+    private final SplittableRandom streams;
+    private final TerminationCriteria termination;
+    private final HistoryRetention retention;
+    private final Consumer<SearchProgress> progressListener;
+    
+    public enum Topology {
+        RING,
+        RANDOM
+    }
+    
+    public IslandModelSolver(GeneticAlgorithm template, int islandCount, int migrationInterval,
+                             int migrants, Topology topology, long seed) {
+        if (islandCount < 1 || migrationInterval < 1) {
+            throw new IllegalArgumentException("Need at least one island and a positive migration interval");
+        }
+        this.template = template;
+        this.islandCount = islandCount;
+        this.migrationInterval = migrationInterval;
+        this.migrants = Math.max(0, Math.min(migrants, template.getPopulationSize() / 2));
+        this.topology = topology;
+        this.streams = new SplittableRandom(seed);
+        this.termination = TerminationCriteria.NONE;
+        this.retention = HistoryRetention.FULL;
+        this.progressListener = null;
+        this.executor = Executors.newFixedThreadPool(
+            Math.min(islandCount, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "ik-island");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+    
+    public IslandModelSolver(GeneticAlgorithm template, int islandCount) {
+        this(template, islandCount, 10, 2, Topology.RING, System.nanoTime());
+    }
+    
+    private IslandModelSolver(IslandModelSolver other, SplittableRandom streams,
+                              TerminationCriteria termination, HistoryRetention retention,
+                              Consumer<SearchProgress> progressListener) {
+        this.template = other.template;
+        this.islandCount = other.islandCount;
+        this.migrationInterval = other.migrationInterval;
+        this.migrants = other.migrants;
+        this.topology = other.topology;
+        this.streams = streams;
+        this.termination = termination;
+        this.retention = retention;
+        this.progressListener = progressListener;
+        this.executor = other.executor;
+    }
+    
+    /**
+     * Same configuration restarted from {@code seed}. The copy shares this
+     * solver's worker pool, so closing either closes both.
+     */
+    @Override
+    public IslandModelSolver withSeed(long seed) {
+        return new IslandModelSolver(this, new SplittableRandom(seed), termination, retention, progressListener);
+    }
+    
+    /**
+     * Copy that shares this solver's pool and draws from a stream split off
+     * this one's. Criteria are checked on the merged history after each
+     * epoch, so a deadline can be overrun by up to one migration interval.
+     */
+    @Override
+    public IslandModelSolver withTermination(TerminationCriteria criteria) {
+        return new IslandModelSolver(this, splitStreams(), termination.and(criteria), retention, progressListener);
+    }
+    
+    @Override
+    public IslandModelSolver withHistory(HistoryRetention retention) {
+        return new IslandModelSolver(this, splitStreams(), termination, retention, progressListener);
+    }
+    
+    @Override
+    public IslandModelSolver withProgressListener(Consumer<SearchProgress> listener) {
+        return new IslandModelSolver(this, splitStreams(), termination, retention,
+            progressListener == null ? listener : progressListener.andThen(listener));
+    }
+    
+    /**
+     * SplittableRandom is not thread-safe, so every split of the shared
+     * stream, by a copy or by a solve, holds its lock.
+     */
+    private SplittableRandom splitStreams() {
+        synchronized (streams) {
+            return streams.split();
+        }
+    }
+    
+    public int getIslandCount() {
+        return islandCount;
+    }
+    
+    @Override
+    public double getMinAngle() {
+        return template.getMinAngle();
+    }
+    
+    @Override
+    public double getMaxAngle() {
+        return template.getMaxAngle();
+    }
+    
+    public static class IslandStats {
+        public final int island;
+        public final int generations;
+        public final double bestFitness;
+        public final double meanFitness;
+        public final int immigrants;
+        public final long busyNanos;
+        
+        IslandStats(int island, int generations, double bestFitness, double meanFitness,
+                    int immigrants, long busyNanos) {
+            this.island = island;
+            this.generations = generations;
+            this.bestFitness = bestFitness;
+            this.meanFitness = meanFitness;
+            this.immigrants = immigrants;
+            this.busyNanos = busyNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Island %d: gens=%d, best=%.6f, mean=%.6f, immigrants=%d, busy=%.3f ms",
+                island, generations, bestFitness, meanFitness, immigrants, busyNanos / 1e6);
+        }
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold) {
+        return solve(robot, target, maxGenerations, errorThreshold, null, 0, 0);
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold,
+                                                            Population seeds, double seedFraction,
+                                                            double seedSpread) {
+        return solve((SerialChain2D) robot, target, maxGenerations, errorThreshold,
+            seeds, seedFraction, seedSpread);
+    }
+    
+    /**
+     * Runs the islands for at most {@code maxGenerations} generations each.
+     * The history holds, per generation, the best individual across islands.
+     */
+    public InverseKinematicsController.SolutionResult solve(SerialChain2D chain, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold,
+                                                            Population seeds, double seedFraction,
+                                                            double seedSpread) {
+        if (template.getDof() != chain.getDof()) {
+            throw new IllegalArgumentException("Genetic algorithm has " + template.getDof()
+                + " genes but the chain has " + chain.getDof() + " joints");
+        }
+        InverseKinematicsController.SolutionResult unreachable = termination.closestReachable(chain, target);
+        if (unreachable != null) {
+            return unreachable;
+        }
+        FitnessEvaluator evaluator = FitnessEvaluator.of(chain);
+        SplittableRandom migrationRandom = splitStreams();
+        Island[] islands = new Island[islandCount];
+        for (int i = 0; i < islandCount; i++) {
+            islands[i] = new Island(template.withRandom(migrationRandom.split()), evaluator, migrationInterval);
+        }
+        for (Island island : islands) {
+            island.ga.initializePopulation(island.population, target, seeds, seedFraction, seedSpread);
+        }
+        
+        GenerationHistory history = retention.newHistory(chain.getDof());
+        boolean stopped = false;
+        String stopReason = TerminationCriteria.MAX_GENERATIONS;
+        SearchProgress progress = new SearchProgress();
+        double[] bestGenes = new double[chain.getDof()];
+        double bestFitness = Double.MAX_VALUE;
+        if (maxGenerations < 1) {
+            // No budget to evolve, but the initial populations are still an answer.
+            for (Island island : islands) {
+                island.ga.evaluateFitness(island.population, evaluator, target);
+                int best = island.ga.getBestIndex(island.population);
+                if (island.population.getFitness(best) < bestFitness) {
+                    bestFitness = island.population.getFitness(best);
+                    for (int k = 0; k < bestGenes.length; k++) {
+                        bestGenes[k] = island.population.getGene(best, k);
+                    }
+                }
+            }
+        }
+        
+        int generation = 0;
+        while (generation < maxGenerations && !stopped) {
+            int epoch = Math.min(migrationInterval, maxGenerations - generation);
+            if (!runEpoch(islands, epoch, target, errorThreshold)) {
+                stopReason = TerminationCriteria.CANCELLED;
+                break;
+            }
+            
+            int completed = 0;
+            for (Island island : islands) {
+                completed = Math.max(completed, island.completed);
+            }
+            int merged = 0;
+            while (merged < completed && !stopped) {
+                int g = merged++;
+                Island best = null;
+                for (Island island : islands) {
+                    if (g < island.completed && (best == null
+                            || island.epochFitness[g] < best.epochFitness[g])) {
+                        best = island;
+                    }
+                }
+                double[] genes = best.epochGenes[g];
+                history.record(generation + g, genes, best.epochX[g], best.epochY[g], best.epochFitness[g]);
+                if (best.epochFitness[g] < bestFitness) {
+                    bestFitness = best.epochFitness[g];
+                    System.arraycopy(genes, 0, bestGenes, 0, genes.length);
+                }
+                // Islands keep only their latest population, so it is exact
+                // for the epoch's last generation alone.
+                progress.record(generation + g, genes, best.epochX[g], best.epochY[g],
+                    best.epochFitness[g], g == completed - 1 ? best.population : null);
+                if (progressListener != null) {
+                    progressListener.accept(progress);
+                }
+                String fired = termination.check(progress);
+                if (bestFitness < errorThreshold) {
+                    stopReason = TerminationCriteria.ERROR_THRESHOLD;
+                    stopped = true;
+                } else if (fired != null) {
+                    stopReason = fired;
+                    stopped = true;
+                }
+            }
+            generation += merged;
+            
+            if (generation < maxGenerations && !stopped) {
+                migrate(islands, migrationRandom);
+            }
+        }
+        
+        List<IslandStats> stats = new ArrayList<>(islandCount);
+        for (int i = 0; i < islandCount; i++) {
+            stats.add(islands[i].stats(i));
+        }
+        Individual bestOverall = new Individual(bestGenes);
+        bestOverall.setFitness(bestFitness);
+        return new InverseKinematicsController.SolutionResult(bestOverall, history, stats, stopReason);
+    }
+    
+    /**
+     * Runs one epoch on every island and waits for all of them, so island
+     * state is only read once no task touches it. If the calling thread is
+     * interrupted the islands stop after their current generation; the
+     * interrupt status is restored and false returned once they have.
+     */
+    private boolean runEpoch(Island[] islands, int epoch, RobotArm2D.Point2D target, double errorThreshold) {
+        boolean interrupted = Thread.currentThread().isInterrupted();
+        AtomicBoolean cancelled = new AtomicBoolean(interrupted);
+        List<Future<?>> futures = new ArrayList<>(islands.length);
+        for (Island island : islands) {
+            futures.add(executor.submit(() -> island.runEpoch(epoch, target, errorThreshold, cancelled)));
+        }
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                    cancelled.set(true);
+                } catch (ExecutionException ex) {
+                    cancelled.set(true);
+                    if (failure == null) {
+                        failure = ex.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+        return !interrupted;
+    }
+    
+    /**
+     * Copies every island's emigrants aside first, so an individual moves at
+     * most one hop per migration, then overwrites the worst members of each
+     * destination island.
+     */
+    private void migrate(Island[] islands, SplittableRandom random) {
+        if (islands.length < 2 || migrants == 0) {
+            return;
+        }
+        Population[] emigrants = new Population[islands.length];
+        for (int i = 0; i < islands.length; i++) {
+            Population source = islands[i].population;
+            int[] best = source.selectBest(migrants);
+            emigrants[i] = new Population(migrants, source.getDof());
+            for (int m = 0; m < migrants; m++) {
+                source.copy(best[m], emigrants[i], m);
+            }
+        }
+        for (int i = 0; i < islands.length; i++) {
+            int destination;
+            if (topology == Topology.RING) {
+                destination = (i + 1) % islands.length;
+            } else {
+                destination = (i + 1 + random.nextInt(islands.length - 1)) % islands.length;
+            }
+            Island island = islands[destination];
+            int[] ranked = island.population.rankByFitness();
+            for (int m = 0; m < migrants; m++) {
+                emigrants[i].copy(m, island.population, ranked[ranked.length - 1 - m]);
+            }
+            island.immigrants += migrants;
+        }
+    }
+    
+    /**
+     * Shuts down the island pool. Copies made by the {@code with...} methods share it,
+     * so the owner of the original solver closes it once they are all done.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static class Island {
+        final GeneticAlgorithm ga;
+        final FitnessEvaluator evaluator;
+        Population population;
+        Population offspring;
+        final double[] epochFitness;
+        final double[][] epochGenes;
+        final double[] epochX;
+        final double[] epochY;
+        int completed;
+        int generations;
+        int immigrants;
+        long busyNanos;
+        
+        Island(GeneticAlgorithm ga, FitnessEvaluator evaluator, int epochLength) {
+            this.ga = ga;
+            this.evaluator = evaluator;
+            this.population = ga.createPopulation();
+            this.offspring = ga.createPopulation();
+            this.epochFitness = new double[epochLength];
+            this.epochGenes = new double[epochLength][ga.getDof()];
+            this.epochX = new double[epochLength];
+            this.epochY = new double[epochLength];
+        }
+        
+        /**
+         * Runs up to {@code count} generations, leaving the population
+         * evaluated so migration can rank it. Stops early once this island
+         * has reached the threshold, and before the next generation once
+         * {@code cancelled} is set or the worker is interrupted.
+         */
+        void runEpoch(int count, RobotArm2D.Point2D target, double errorThreshold, AtomicBoolean cancelled) {
+            long start = System.nanoTime();
+            completed = 0;
+            for (int g = 0; g < count; g++) {
+                if (cancelled.get() || Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                if (generations > 0) {
+                    ga.evolve(population, offspring);
+                    Population swap = population;
+                    population = offspring;
+                    offspring = swap;
+                }
+                ga.evaluateFitness(population, evaluator, target);
+                
+                int best = ga.getBestIndex(population);
+                epochFitness[g] = population.getFitness(best);
+                for (int k = 0; k < epochGenes[g].length; k++) {
+                    epochGenes[g][k] = population.getGene(best, k);
+                }
+                epochX[g] = population.getX(best);
+                epochY[g] = population.getY(best);
+                generations++;
+                completed++;
+                
+                if (epochFitness[g] < errorThreshold) {
+                    break;
+                }
+            }
+            busyNanos += System.nanoTime() - start;
+        }
+        
+        IslandStats stats(int index) {
+            double best = Double.MAX_VALUE;
+            double sum = 0;
+            for (int i = 0; i < population.size(); i++) {
+                best = Math.min(best, population.getFitness(i));
+                sum += population.getFitness(i);
+            }
+            return new IslandStats(index, generations, best, sum / population.size(),
+                immigrants, busyNanos);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package robotics;
+
+import java.util.function.Consumer;
+
+/**
+ * Gradient-based inverse kinematics on the analytic Jacobian of RobotArm2D.
+ * Each iteration is reported as one GenerationResult so the output lines up
+ * with the GA solver. The iteration itself works on a fixed scratch buffer.
+ */
+public class JacobianIKSolver implements InverseKinematicsSolver {
+    public enum Method {
+        JACOBIAN_TRANSPOSE,
+        DAMPED_LEAST_SQUARES,
+        LEVENBERG_MARQUARDT
+    }
+    
+    /** Levenberg-Marquardt gives up once repeated rejections push mu this high. */
+    static final double MAX_MU = 1e10;
+    /** Floor for the damped least squares lambda so a singular pose still has det > 0. */
+    static final double MIN_LAMBDA = 1e-6;
+    
+    private final Method method;
+    private final double damping;
+    private final double minAngle;
+    private final double maxAngle;
+    private final TerminationCriteria termination;
+    private final HistoryRetention retention;
+    private final Consumer<SearchProgress> progressListener;
+    
+    public JacobianIKSolver(Method method) {
+        this(method, 0.1, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * @param damping lambda for damped least squares (scaled down once the
+     *                error drops below one unit), initial mu for
+     *                Levenberg-Marquardt; unused by the transpose method
+     */
+    public JacobianIKSolver(Method method, double damping, double minAngle, double maxAngle) {
+        this(method, damping, minAngle, maxAngle, TerminationCriteria.NONE, HistoryRetention.FULL, null);
+    }
+    
+    private JacobianIKSolver(Method method, double damping, double minAngle, double maxAngle,
+                             TerminationCriteria termination, HistoryRetention retention,
+                             Consumer<SearchProgress> progressListener) {
+        this.method = method;
+        this.damping = damping;
+        this.minAngle = minAngle;
+        this.maxAngle = maxAngle;
+        this.termination = termination;
+        this.retention = retention;
+        this.progressListener = progressListener;
+    }
+    
+    @Override
+    public JacobianIKSolver withTermination(TerminationCriteria criteria) {
+        return new JacobianIKSolver(method, damping, minAngle, maxAngle, termination.and(criteria), retention,
+            progressListener);
+    }
+    
+    @Override
+    public JacobianIKSolver withHistory(HistoryRetention retention) {
+        return new JacobianIKSolver(method, damping, minAngle, maxAngle, termination, retention,
+            progressListener);
+    }
+    
+    @Override
+    public JacobianIKSolver withProgressListener(Consumer<SearchProgress> listener) {
+        return new JacobianIKSolver(method, damping, minAngle, maxAngle, termination, retention,
+            progressListener == null ? listener : progressListener.andThen(listener));
+    }
+    
+    public Method getMethod() {
+        return method;
+    }
+    
+    @Override
+    public double getMinAngle() {
+        return minAngle;
+    }
+    
+    @Override
+    public double getMaxAngle() {
+        return maxAngle;
+    }
+    
+    /**
+     * Starts from the robot's current joint angles, so consecutive solves on
+     * the same arm track the previous pose.
+     */
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold) {
+        return solve(robot, target, maxGenerations, errorThreshold, robot.getQ1(), robot.getQ2());
+    }
+    
+    @Override
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxGenerations, double errorThreshold,
+                                                            Population seeds, double seedFraction,
+                                                            double seedSpread) {
+        if (seeds == null || seeds.size() == 0) {
+            return solve(robot, target, maxGenerations, errorThreshold);
+        }
+        return solve(robot, target, maxGenerations, errorThreshold, seeds.getQ1(0), seeds.getQ2(0));
+    }
+    
+    public InverseKinematicsController.SolutionResult solve(RobotArm2D robot, RobotArm2D.Point2D target,
+                                                            int maxIterations, double errorThreshold,
+                                                            double initialQ1, double initialQ2) {
+        InverseKinematicsController.SolutionResult unreachable = termination.closestReachable(robot, target);
+        if (unreachable != null) {
+            return unreachable;
+        }
+        GenerationHistory history = retention.newHistory(2);
+        SearchProgress progress = new SearchProgress();
+        Individual best = refine(robot, target, maxIterations, errorThreshold,
+            initialQ1, initialQ2, history, 0, progress);
+        return new InverseKinematicsController.SolutionResult(best, history, progress.getStopReason());
+    }
+    
+    Individual refine(RobotArm2D robot, RobotArm2D.Point2D target, int maxIterations,
+                      double errorThreshold, double q1, double q2,
+                      GenerationHistory history, int firstIteration, SearchProgress progress) {
+        double[] fk = new double[4];
+        double[] q = new double[2];
+        double[] j = new double[4];
+        double mu = damping;
+        
+        q1 = clamp(q1);
+        q2 = clamp(q2);
+        robot.forwardKinematics(q1, q2, fk);
+        double ex = target.x - fk[2];
+        double ey = target.y - fk[3];
+        double error = Math.sqrt(ex * ex + ey * ey);
+        double bestQ1 = q1;
+        double bestQ2 = q2;
+        double bestError = error;
+        String stopReason = TerminationCriteria.MAX_GENERATIONS;
+        
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            q[0] = q1;
+            q[1] = q2;
+            history.record(firstIteration + iteration, q, fk[2], fk[3], error);
+            progress.record(firstIteration + iteration, q, fk[2], fk[3], error, null);
+            if (progressListener != null) {
+                progressListener.accept(progress);
+            }
+            String fired = termination.check(progress);
+            if (error < errorThreshold) {
+                stopReason = TerminationCriteria.ERROR_THRESHOLD;
+                break;
+            }
+            if (fired != null) {
+                stopReason = fired;
+                break;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                stopReason = TerminationCriteria.CANCELLED;
+                break;
+            }
+            
+            robot.jacobian(q1, q2, j);
+            double dq1;
+            double dq2;
+            
+            if (method == Method.JACOBIAN_TRANSPOSE) {
+                dq1 = j[0] * ex + j[2] * ey;
+                dq2 = j[1] * ex + j[3] * ey;
+                double jx = j[0] * dq1 + j[1] * dq2;
+                double jy = j[2] * dq1 + j[3] * dq2;
+                double denominator = jx * jx + jy * jy;
+                if (denominator < 1e-18) {
+                    stopReason = TerminationCriteria.STALLED;
+                    break;
+                }
+                double alpha = (ex * jx + ey * jy) / denominator;
+                dq1 *= alpha;
+                dq2 *= alpha;
+            } else if (method == Method.DAMPED_LEAST_SQUARES) {
+                double lambda = Math.max(damping * Math.min(1.0, error), MIN_LAMBDA);
+                double lambdaSq = lambda * lambda;
+                double m00 = j[0] * j[0] + j[1] * j[1] + lambdaSq;
+                double m01 = j[0] * j[2] + j[1] * j[3];
+                double m11 = j[2] * j[2] + j[3] * j[3] + lambdaSq;
+                double det = m00 * m11 - m01 * m01;
+                double fx = (m11 * ex - m01 * ey) / det;
+                double fy = (m00 * ey - m01 * ex) / det;
+                dq1 = j[0] * fx + j[2] * fy;
+                dq2 = j[1] * fx + j[3] * fy;
+            } else {
+                double g1 = j[0] * ex + j[2] * ey;
+                double g2 = j[1] * ex + j[3] * ey;
+                double h00 = j[0] * j[0] + j[2] * j[2] + mu;
+                double h01 = j[0] * j[1] + j[2] * j[3];
+                double h11 = j[1] * j[1] + j[3] * j[3] + mu;
+                double det = h00 * h11 - h01 * h01;
+                dq1 = (h11 * g1 - h01 * g2) / det;
+                dq2 = (h00 * g2 - h01 * g1) / det;
+            }
+            
+            boolean finite = Double.isFinite(dq1) && Double.isFinite(dq2);
+            if (!finite && method != Method.LEVENBERG_MARQUARDT) {
+                stopReason = TerminationCriteria.STALLED;
+                break;
+            }
+            double nextQ1 = clamp(q1 + dq1);
+            double nextQ2 = clamp(q2 + dq2);
+            robot.forwardKinematics(nextQ1, nextQ2, fk);
+            double nextEx = target.x - fk[2];
+            double nextEy = target.y - fk[3];
+            double nextError = Math.sqrt(nextEx * nextEx + nextEy * nextEy);
+            
+            if (method == Method.LEVENBERG_MARQUARDT && (!finite || !(nextError < error))) {
+                robot.forwardKinematics(q1, q2, fk);
+                mu *= 10;
+                if (mu >= MAX_MU) {
+                    stopReason = TerminationCriteria.STALLED;
+                    break;
+                }
+                continue;
+            }
+            if (method == Method.LEVENBERG_MARQUARDT) {
+                mu = Math.max(mu / 10, 1e-12);
+            }
+            
+            q1 = nextQ1;
+            q2 = nextQ2;
+            ex = nextEx;
+            ey = nextEy;
+            error = nextError;
+            if (error < bestError) {
+                bestQ1 = q1;
+                bestQ2 = q2;
+                bestError = error;
+            }
+        }
+        
+        if (Double.isInfinite(minAngle) && Double.isInfinite(maxAngle)) {
+            bestQ1 = Math.IEEEremainder(bestQ1, 2 * Math.PI);
+            bestQ2 = Math.IEEEremainder(bestQ2, 2 * Math.PI);
+        }
+        progress.stop(stopReason);
+        Individual best = new Individual(bestQ1, bestQ2);
+        best.setFitness(bestError);
+        return best;
+    }
+    
+    private double clamp(double angle) {
+        return Math.max(minAngle, Math.min(maxAngle, angle));
+    }
+}
@@ -0,0 +1,340 @@
+package robotics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Headless entry point for forward and inverse kinematics. Does not touch
+ * JavaFX, so it runs from the core jar alone:
+ * <pre>
+ * java -jar kinematics-core.jar fk a1 a2 q1 q2
+ * java -jar kinematics-core.jar ik a1 a2 x y [solver] [generations] [threshold]
+ * java -jar kinematics-core.jar ik-batch a1 a2 [solver] [generations] [threshold] &lt; targets.txt
+ * java -jar kinematics-core.jar grid a1 a2 resolution file
+ * java -jar kinematics-core.jar trajectory a1 a2 [solver] [max-step] [generations] [threshold] &lt; path.txt
+ * java -jar kinematics-core.jar record a1 a2 file [solver] [generations] [threshold] [populations] &lt; targets.txt
+ * java -jar kinematics-core.jar replay file [solve]
+ * </pre>
+ * Angles are in radians. The solver is one of ga, island, analytic, dls, lm or
+ * hybrid (default ga). ik-batch reads one "x y" target per line from standard input.
+ * grid precomputes a {@link WorkspaceGrid} and writes it to the file.
+ * trajectory follows the waypoints read like ik-batch with a
+ * {@link TrajectoryTracker} (default solver dls) and prints "q1 q2 error" per
+ * waypoint as it goes. record solves the targets read like ik-batch one
+ * after another and appends every generation to a {@link RunLogWriter} log,
+ * with whole populations when the last argument is "populations". replay
+ * summarises each solve in such a log, or prints every generation of one
+ * solve. With -Drobotics.metrics=true every command ends by
+ * printing the {@link SolverMetrics} report to stderr.
+ */
+public class KinematicsCli {
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1) {
+            usage();
+            return;
+        }
+        try {
+            switch (args[0]) {
+                case "fk":
+                    forward(args);
+                    break;
+                case "ik":
+                    inverse(args);
+                    break;
+                case "ik-batch":
+                    inverseBatch(args);
+                    break;
+                case "grid":
+                    grid(args);
+                    break;
+                case "trajectory":
+                    trajectory(args);
+                    break;
+                case "record":
+                    record(args);
+                    break;
+                case "replay":
+                    replay(args);
+                    break;
+                default:
+                    usage();
+            }
+            if (SolverMetrics.isEnabled()) {
+                System.err.print(SolverMetrics.report());
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println("Invalid arguments: " + ex.getMessage());
+            usage();
+            System.exit(2);
+        }
+    }
+    
+    private static void forward(String[] args) {
+        RobotArm2D robot = new RobotArm2D(Double.parseDouble(args[1]), Double.parseDouble(args[2]));
+        robot.setJointAngles(Double.parseDouble(args[3]), Double.parseDouble(args[4]));
+        System.out.println("Joint 2 Position: " + robot.getJoint2Position());
+        System.out.println("End Effector Position: " + robot.getEndEffectorPosition());
+    }
+    
+    private static void inverse(String[] args) {
+        RobotArm2D robot = new RobotArm2D(Double.parseDouble(args[1]), Double.parseDouble(args[2]));
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(Double.parseDouble(args[3]), Double.parseDouble(args[4]));
+        String solverName = args.length > 5 ? args[5] : "ga";
+        int generations = args.length > 6 ? Integer.parseInt(args[6]) : 200;
+        double threshold = args.length > 7 ? Double.parseDouble(args[7]) : 0.01;
+        
+        InverseKinematicsSolver solver = createSolver(solverName);
+        InverseKinematicsController controller = new InverseKinematicsController(robot, solver);
+        long start = System.nanoTime();
+        InverseKinematicsController.SolutionResult result;
+        try {
+            result = controller.solve(target, generations, threshold);
+        } finally {
+            close(solver);
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        Individual best = result.bestIndividual;
+        robot.setJointAngles(best.getQ1(), best.getQ2());
+        System.out.println("Target Position: " + target);
+        System.out.printf("q1 = %.4f rad (%.2f deg)%n", best.getQ1(), Math.toDegrees(best.getQ1()));
+        System.out.printf("q2 = %.4f rad (%.2f deg)%n", best.getQ2(), Math.toDegrees(best.getQ2()));
+        System.out.println("Final Position: " + robot.getEndEffectorPosition());
+        System.out.printf("Error: %.6f units%n", best.getFitness());
+        if (TerminationCriteria.UNREACHABLE.equals(result.terminatedBy)) {
+            System.out.println("Target is out of reach; showing the closest reachable pose");
+        }
+        System.out.printf("Generations: %d, Time: %.3f ms%n", result.generations, elapsed / 1e6);
+    }
+    
+    private static void inverseBatch(String[] args) throws InterruptedException {
+        RobotArm2D robot = new RobotArm2D(Double.parseDouble(args[1]), Double.parseDouble(args[2]));
+        String solverName = args.length > 3 ? args[3] : "ga";
+        int generations = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+        double threshold = args.length > 5 ? Double.parseDouble(args[5]) : 0.01;
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        int[] count = new int[1];
+        InverseKinematicsSolver solver = createSolver(solverName);
+        try (BatchIKService service = new BatchIKService(robot, solver)) {
+            service.solveAll(readTargets(reader), generations, threshold, result -> {
+                System.out.println(result);
+                count[0]++;
+            });
+        } finally {
+            close(solver);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("%d targets in %.3f s (%.1f targets/s)%n", count[0], seconds, count[0] / seconds);
+    }
+    
+    private static void grid(String[] args) {
+        RobotArm2D robot = new RobotArm2D(Double.parseDouble(args[1]), Double.parseDouble(args[2]));
+        int resolution = Integer.parseInt(args[3]);
+        Path path = Paths.get(args[4]);
+        long start = System.nanoTime();
+        WorkspaceGrid grid = WorkspaceGrid.build(robot, resolution);
+        long elapsed = System.nanoTime() - start;
+        try {
+            grid.save(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        System.out.printf("Built %dx%d grid in %.3f ms, cell %.6f units, wrote %d bytes to %s%n",
+            resolution, resolution, elapsed / 1e6, grid.getCellSize(),
+            WorkspaceGrid.HEADER_BYTES + (long) resolution * resolution * WorkspaceGrid.CELL_BYTES, path);
+    }
+    
+    private static void trajectory(String[] args) {
+        RobotArm2D robot = new RobotArm2D(Double.parseDouble(args[1]), Double.parseDouble(args[2]));
+        String solverName = args.length > 3 ? args[3] : "dls";
+        double maxStep = args.length > 4 ? Double.parseDouble(args[4]) : Double.POSITIVE_INFINITY;
+        int generations = args.length > 5 ? Integer.parseInt(args[5]) : 50;
+        double threshold = args.length > 6 ? Double.parseDouble(args[6]) : 1e-4;
+        
+        InverseKinematicsSolver solver = createSolver(solverName);
+        TrajectoryTracker tracker = new TrajectoryTracker(robot, solver);
+        tracker.setMaxJointStep(maxStep);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        TrajectoryTracker.TrajectoryStats stats;
+        try {
+            stats = tracker.track(readTargets(reader), generations, threshold,
+                point -> out.printf("%.6f %.6f %.6f%n", point.q1, point.q2, point.error));
+        } finally {
+            close(solver);
+        }
+        out.flush();
+        System.err.println(stats);
+    }
+    
+    private static void record(String[] args) {
+        RobotArm2D robot = new RobotArm2D(Double.parseDouble(args[1]), Double.parseDouble(args[2]));
+        Path path = Paths.get(args[3]);
+        String solverName = args.length > 4 ? args[4] : "ga";
+        int generations = args.length > 5 ? Integer.parseInt(args[5]) : 200;
+        double threshold = args.length > 6 ? Double.parseDouble(args[6]) : 0.01;
+        boolean populations = args.length > 7 && args[7].equals("populations");
+        
+        InverseKinematicsSolver solver = createSolver(solverName);
+        InverseKinematicsController controller = new InverseKinematicsController(robot, solver);
+        controller.setHistoryRetention(HistoryRetention.NONE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        long start = System.nanoTime();
+        try (RunLogWriter log = RunLogWriter.create(path, robot.getDof(), populations)) {
+            controller.setRunLog(log);
+            Iterator<RobotArm2D.Point2D> targets = readTargets(reader);
+            while (targets.hasNext()) {
+                Individual best = controller.solve(targets.next(), generations, threshold).bestIndividual;
+                out.printf("%.6f %.6f %.6f%n", best.getQ1(), best.getQ2(), best.getFitness());
+            }
+            log.flush();
+            out.flush();
+            System.err.printf("%d solves, %d generations, %d bytes written to %s in %.3f s%n",
+                log.getSolveCount(), log.getGenerationCount(), log.getBytesWritten(), path,
+                (System.nanoTime() - start) / 1e9);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            close(solver);
+        }
+    }
+    
+    private static void replay(String[] args) {
+        Path path = Paths.get(args[1]);
+        PrintWriter out = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        long start = System.nanoTime();
+        try (RunLogReader log = RunLogReader.open(path)) {
+            if (args.length > 2) {
+                int solve = Integer.parseInt(args[2]);
+                if (solve < 0 || solve >= log.getSolveCount()) {
+                    throw new IllegalArgumentException("No solve " + solve + " in " + path);
+                }
+                out.println("# target " + log.getTarget(solve));
+                log.forEachGeneration(solve, (owner, generation, genes, x, y, error) -> {
+                    out.print(generation);
+                    for (double gene : genes) {
+                        out.printf(" %.6f", gene);
+                    }
+                    out.printf(" %.6f %.6f %.6f%n", x, y, error);
+                });
+            } else {
+                int[] counts = new int[log.getSolveCount()];
+                double[] errors = new double[log.getSolveCount()];
+                log.forEachGeneration((owner, generation, genes, x, y, error) -> {
+                    counts[owner]++;
+                    errors[owner] = error;
+                });
+                for (int solve = 0; solve < counts.length; solve++) {
+                    out.printf("%d %s generations=%d error=%.6f%n", solve, log.getTarget(solve),
+                        counts[solve], errors[solve]);
+                }
+            }
+            out.flush();
+            System.err.printf("%d solves, %d generations, %d populations read from %s in %.3f ms%n",
+                log.getSolveCount(), log.getGenerationCount(), log.getPopulationCount(), path,
+                (System.nanoTime() - start) / 1e6);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    static InverseKinematicsSolver createSolver(String name) {
+        GeneticAlgorithm ga = new GeneticAlgorithm(
+            100,
+            0.1,
+            0.8,
+            -Math.PI,
+            Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT,
+            GeneticAlgorithm.CrossoverType.UNIFORM
+        );
+        switch (name) {
+            case "ga":
+                return new GeneticAlgorithmSolver(ga);
+            case "analytic":
+                return AnalyticIKSolver.withFallback(ga);
+            case "dls":
+                return new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES);
+            case "lm":
+                return new JacobianIKSolver(JacobianIKSolver.Method.LEVENBERG_MARQUARDT);
+            case "island":
+                return new IslandModelSolver(ga, 4);
+            case "hybrid":
+                return new HybridIKSolver(ga, 10);
+            default:
+                throw new IllegalArgumentException("Unknown solver: " + name);
+        }
+    }
+    
+    /**
+     * Shuts down the worker pool of solvers that own one.
+     */
+    private static void close(InverseKinematicsSolver solver) {
+        if (solver instanceof IslandModelSolver) {
+            ((IslandModelSolver) solver).close();
+        }
+    }
+    
+    private static Iterator<RobotArm2D.Point2D> readTargets(BufferedReader reader) {
+        return new Iterator<RobotArm2D.Point2D>() {
+            private RobotArm2D.Point2D next = advance();
+            
+            private RobotArm2D.Point2D advance() {
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] parts = line.trim().split("[\\s,]+");
+                        if (parts.length >= 2 && !parts[0].isEmpty() && !parts[0].startsWith("#")) {
+                            return new RobotArm2D.Point2D(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]));
+                        }
+                    }
+                    return null;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+            
+            @Override
+            public RobotArm2D.Point2D next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                RobotArm2D.Point2D current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+    
+    private static void usage() {
+        System.err.println("Usage:");
+        System.err.println("  KinematicsCli fk <a1> <a2> <q1> <q2>");
+        System.err.println("  KinematicsCli ik <a1> <a2> <x> <y> [ga|island|analytic|dls|lm|hybrid] [generations] [threshold]");
+        System.err.println("  KinematicsCli ik-batch <a1> <a2> [solver] [generations] [threshold] < targets");
+        System.err.println("  KinematicsCli grid <a1> <a2> <resolution> <file>");
+        System.err.println("  KinematicsCli trajectory <a1> <a2> [solver] [max-step] [generations] [threshold] < waypoints");
+        System.err.println("  KinematicsCli record <a1> <a2> <file> [solver] [generations] [threshold] [populations] < targets");
+        System.err.println("  KinematicsCli replay <file> [solve]");
+    }
+}
@@ -0,0 +1,383 @@
+package robotics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Population stored as parallel primitive arrays so a generation can be
+ * evaluated and bred without allocating an Individual per member. Genes are
+ * laid out per joint: {@code genes[k][i]} is joint k of individual i.
+ * <p>
+ * Populations of chains other than two links also keep each member's prefix
+ * of cumulative link angles and joint positions, with the index of the first
+ * stale link. Changing gene k only invalidates links k..N-1, so
+ * {@link FitnessEvaluator} re-evaluates a mutated child in O(N-k).
+ */
+public class Population {
+    private final double[][] genes;
+    private final double[] fitness;
+    private final double[] x;
+    private final double[] y;
+    private final int[] order;
+    private final double[][] theta;
+    private final double[][] jointX;
+    private final double[][] jointY;
+    private final int[] dirtyFrom;
+    private int best = -1;
+    
+    public Population(int size) {
+        this(size, 2);
+    }
+    
+    public Population(int size, int dof) {
+        if (dof < 1) {
+            throw new IllegalArgumentException("A chain needs at least one joint");
+        }
+        this.genes = new double[dof][size];
+        this.fitness = new double[size];
+        this.x = new double[size];
+        this.y = new double[size];
+        this.order = new int[size];
+        Arrays.fill(fitness, Double.MAX_VALUE);
+        if (dof != 2) {
+            this.theta = new double[dof][size];
+            this.jointX = new double[dof][size];
+            this.jointY = new double[dof][size];
+            this.dirtyFrom = new int[size];
+        } else {
+            this.theta = null;
+            this.jointX = null;
+            this.jointY = null;
+            this.dirtyFrom = null;
+        }
+    }
+    
+    public static Population fromList(List<Individual> individuals) {
+        int dof = individuals.isEmpty() ? 2 : individuals.get(0).getDof();
+        Population population = new Population(individuals.size(), dof);
+        for (int i = 0; i < individuals.size(); i++) {
+            Individual individual = individuals.get(i);
+            for (int k = 0; k < dof; k++) {
+                population.genes[k][i] = individual.getGene(k);
+            }
+            population.fitness[i] = individual.getFitness();
+        }
+        return population;
+    }
+    
+    public int size() {
+        return fitness.length;
+    }
+    
+    public int getDof() {
+        return genes.length;
+    }
+    
+    public double getGene(int index, int gene) {
+        return genes[gene][index];
+    }
+    
+    public double getQ1(int index) {
+        return genes[0][index];
+    }
+    
+    public double getQ2(int index) {
+        requireQ2();
+        return genes[1][index];
+    }
+    
+    public double getFitness(int index) {
+        return fitness[index];
+    }
+    
+    public double getX(int index) {
+        return x[index];
+    }
+    
+    public double getY(int index) {
+        return y[index];
+    }
+    
+    public void set(int index, double q1, double q2) {
+        requireQ2();
+        best = -1;
+        genes[0][index] = q1;
+        genes[1][index] = q2;
+        invalidate(index, 0);
+    }
+    
+    public void set(int index, double[] values) {
+        best = -1;
+        for (int k = 0; k < genes.length; k++) {
+            genes[k][index] = values[k];
+        }
+        invalidate(index, 0);
+    }
+    
+    /**
+     * Sets one gene. Writing the value already present keeps the cached
+     * positions and fitness, so only genes that actually change cost work.
+     */
+    public void setGene(int index, int gene, double value) {
+        if (genes[gene][index] != value) {
+            genes[gene][index] = value;
+            invalidate(index, gene);
+        }
+    }
+    
+    public void setQ1(int index, double q1) {
+        setGene(index, 0, q1);
+    }
+    
+    public void setQ2(int index, double q2) {
+        requireQ2();
+        setGene(index, 1, q2);
+    }
+    
+    public void setFitness(int index, double fitness) {
+        this.fitness[index] = fitness;
+        best = -1;
+    }
+    
+    public void copy(int from, Population target, int to) {
+        for (int k = 0; k < genes.length; k++) {
+            target.genes[k][to] = genes[k][from];
+        }
+        target.fitness[to] = fitness[from];
+        target.best = -1;
+        target.x[to] = x[from];
+        target.y[to] = y[from];
+        if (dirtyFrom != null && target.dirtyFrom != null) {
+            for (int k = 0; k < theta.length; k++) {
+                target.theta[k][to] = theta[k][from];
+                target.jointX[k][to] = jointX[k][from];
+                target.jointY[k][to] = jointY[k][from];
+            }
+            target.dirtyFrom[to] = dirtyFrom[from];
+        } else if (target.dirtyFrom != null) {
+            target.dirtyFrom[to] = 0;
+        }
+    }
+    
+    private void invalidate(int index, int gene) {
+        fitness[index] = Double.MAX_VALUE;
+        best = -1;
+        if (dirtyFrom != null && gene < dirtyFrom[index]) {
+            dirtyFrom[index] = gene;
+        }
+    }
+    
+    double[] q1Array() {
+        return genes[0];
+    }
+    
+    double[] q2Array() {
+        requireQ2();
+        return genes[1];
+    }
+    
+    private void requireQ2() {
+        if (genes.length < 2) {
+            throw new IllegalStateException("q2 needs at least two joints, this population has " + genes.length);
+        }
+    }
+    
+    double[][] geneArrays() {
+        return genes;
+    }
+    
+    double[] fitnessArray() {
+        return fitness;
+    }
+    
+    double[] xArray() {
+        return x;
+    }
+    
+    double[] yArray() {
+        return y;
+    }
+    
+    boolean hasChainCache() {
+        return dirtyFrom != null;
+    }
+    
+    double[][] thetaArrays() {
+        return theta;
+    }
+    
+    double[][] jointXArrays() {
+        return jointX;
+    }
+    
+    double[][] jointYArrays() {
+        return jointY;
+    }
+    
+    int[] dirtyFromArray() {
+        return dirtyFrom;
+    }
+    
+    /**
+     * Records the best member found while writing fitness through
+     * {@link #fitnessArray()}, or -1 if it is not known.
+     */
+    void setBestIndex(int best) {
+        this.best = best;
+    }
+    
+    /**
+     * Index of the member with the lowest fitness, the first one on ties.
+     * O(1) right after a full evaluation, which tracks the best as it goes;
+     * otherwise one scan, cached until the population next changes.
+     */
+    public int getBestIndex() {
+        if (best < 0) {
+            int index = 0;
+            for (int i = 1; i < fitness.length; i++) {
+                if (fitness[i] < fitness[index]) {
+                    index = i;
+                }
+            }
+            best = index;
+        }
+        return best;
+    }
+    
+    public Individual getIndividual(int index) {
+        double[] values = new double[genes.length];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = genes[k][index];
+        }
+        Individual individual = new Individual(values);
+        individual.setFitness(fitness[index]);
+        return individual;
+    }
+    
+    public List<Individual> toList() {
+        List<Individual> individuals = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            individuals.add(getIndividual(i));
+        }
+        return individuals;
+    }
+    
+    /**
+     * Returns the indices of this population ordered by ascending fitness.
+     * The returned array is owned by the population and is overwritten by the
+     * next call; ranking allocates nothing.
+     */
+    public int[] rankByFitness() {
+        int n = order.length;
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        sortOrder(n);
+        return order;
+    }
+    
+    /**
+     * Returns an index array whose first {@code count} entries are the
+     * {@code count} fittest members in ascending fitness order; the rest are
+     * in no particular order. Runs in O(n + count log count) by quickselect
+     * on the fitness array, so taking a few elites from a large population
+     * does not pay for a full sort. The array is shared with
+     * {@link #rankByFitness()}.
+     */
+    public int[] selectBest(int count) {
+        int n = order.length;
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        count = Math.max(0, Math.min(count, n));
+        if (count < n) {
+            select(count);
+        }
+        sortOrder(count);
+        return order;
+    }
+    
+    /**
+     * Partitions {@code order} so that its first {@code count} entries hold
+     * the smallest fitness values. Median-of-three pivots keep the expected
+     * cost linear without drawing random numbers.
+     */
+    private void select(int count) {
+        int left = 0;
+        int right = order.length - 1;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (fitness[order[mid]] < fitness[order[left]]) {
+                swap(mid, left);
+            }
+            if (fitness[order[right]] < fitness[order[left]]) {
+                swap(right, left);
+            }
+            if (fitness[order[right]] < fitness[order[mid]]) {
+                swap(right, mid);
+            }
+            double pivot = fitness[order[mid]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (fitness[order[i]] < pivot) {
+                    i++;
+                }
+                while (fitness[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (count - 1 <= j) {
+                right = j;
+            } else if (count - 1 >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    private void swap(int a, int b) {
+        int tmp = order[a];
+        order[a] = order[b];
+        order[b] = tmp;
+    }
+    
+    /**
+     * Heap-sorts {@code order[0..n)} by ascending fitness.
+     */
+    private void sortOrder(int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int tmp = order[0];
+            order[0] = order[end];
+            order[end] = tmp;
+            siftDown(0, end);
+        }
+    }
+    
+    private void siftDown(int root, int end) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= end) {
+                return;
+            }
+            if (child + 1 < end && fitness[order[child + 1]] > fitness[order[child]]) {
+                child++;
+            }
+            if (fitness[order[root]] >= fitness[order[child]]) {
+                return;
+            }
+            int tmp = order[root];
+            order[root] = order[child];
+            order[child] = tmp;
+            root = child;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package robotics;
+
+import java.util.SplittableRandom;
+
+/**
+ * Spatial index from end-effector positions to the joint configurations that
+ * reach them, built from forward-kinematics samples of one chain. It is an
+ * implicit KD-tree: the sample columns themselves are partitioned around the
+ * median of each range, alternating x and y, so the tree has no node objects
+ * and costs 4 * (2 + dof) bytes per sample; ten million two-link samples take
+ * about 160 MB. Queries only read the arrays, so a built index can be shared
+ * by any number of threads.
+ */
+public final class PoseIndex {
+    private static final int LEAF_SIZE = 8;
+    private static final int CHUNK = 4096;
+    
+    private final float[] x;
+    private final float[] y;
+    private final float[][] genes;
+    
+    PoseIndex(float[] x, float[] y, float[][] genes) {
+        this.x = x;
+        this.y = y;
+        this.genes = genes;
+        build(0, x.length, 0);
+    }
+    
+    /**
+     * Indexes {@code samples} joint configurations of {@code chain} drawn
+     * uniformly from [minAngle, maxAngle] per joint with a stream seeded from
+     * {@code seed}.
+     */
+    public static PoseIndex sample(SerialChain2D chain, int samples, double minAngle, double maxAngle,
+                                   long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double range = maxAngle - minAngle;
+        return index(chain, samples, (angles, from, count) -> {
+            for (int i = 0; i < count; i++) {
+                for (int k = 0; k < angles.length; k++) {
+                    angles[k][i] = minAngle + random.nextDouble() * range;
+                }
+            }
+        });
+    }
+    
+    /**
+     * Indexes the caller's joint configurations of {@code chain}, laid out
+     * per joint like {@link Population}: {@code angles[k][i]} is joint k of
+     * sample i. The arrays are copied, not kept.
+     */
+    public static PoseIndex of(SerialChain2D chain, double[][] angles) {
+        if (angles.length != chain.getDof()) {
+            throw new IllegalArgumentException("Got angles for " + angles.length
+                + " joints but the chain has " + chain.getDof());
+        }
+        int samples = angles[0].length;
+        for (double[] joint : angles) {
+            if (joint.length != samples) {
+                throw new IllegalArgumentException("Every joint needs " + samples
+                    + " angles, got " + joint.length);
+            }
+        }
+        return index(chain, samples, (chunk, from, count) -> {
+            for (int k = 0; k < angles.length; k++) {
+                System.arraycopy(angles[k], from, chunk[k], 0, count);
+            }
+        });
+    }
+    
+    /**
+     * Fills {@code angles[k][0..count)} with joint k of samples
+     * from..from+count.
+     */
+    private interface AngleSource {
+        void fill(double[][] angles, int from, int count);
+    }
+    
+    /**
+     * Builds the columns {@value #CHUNK} samples at a time, so the double
+     * precision angles and positions are only ever held for one chunk.
+     */
+    private static PoseIndex index(SerialChain2D chain, int samples, AngleSource source) {
+        double[] lengths = chain.getLengths();
+        float[] x = new float[samples];
+        float[] y = new float[samples];
+        float[][] genes = new float[lengths.length][samples];
+        int chunk = Math.min(CHUNK, samples);
+        double[][] angles = new double[lengths.length][chunk];
+        double[] px = new double[chunk];
+        double[] py = new double[chunk];
+        for (int from = 0; from < samples; from += chunk) {
+            int count = Math.min(chunk, samples - from);
+            source.fill(angles, from, count);
+            positions(lengths, angles, count, px, py);
+            for (int i = 0; i < count; i++) {
+                x[from + i] = (float) px[i];
+                y[from + i] = (float) py[i];
+                for (int k = 0; k < lengths.length; k++) {
+                    genes[k][from + i] = (float) angles[k][i];
+                }
+            }
+        }
+        return new PoseIndex(x, y, genes);
+    }
+    
+    /**
+     * End effector positions of the first {@code count} configurations; two
+     * links go through the batch kernel of {@link RobotArm2D}.
+     */
+    private static void positions(double[] lengths, double[][] angles, int count, double[] px, double[] py) {
+        if (lengths.length == 2) {
+            RobotArm2D.fk(lengths[0], lengths[1], angles[0], angles[1], px, py, 0, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            double theta = 0;
+            double sumX = 0;
+            double sumY = 0;
+            for (int k = 0; k < lengths.length; k++) {
+                theta += angles[k][i];
+                sumX += lengths[k] * Math.cos(theta);
+                sumY += lengths[k] * Math.sin(theta);
+            }
+            px[i] = sumX;
+            py[i] = sumY;
+        }
+    }
+    
+    public int size() {
+        return x.length;
+    }
+    
+    public int getDof() {
+        return genes.length;
+    }
+    
+    public double getX(int index) {
+        return x[index];
+    }
+    
+    public double getY(int index) {
+        return y[index];
+    }
+    
+    public double getGene(int index, int gene) {
+        return genes[gene][index];
+    }
+    
+    /**
+     * Writes the indices of the {@code out.length} samples nearest to
+     * (qx, qy) into {@code out}, closest first, and returns how many were
+     * found (fewer only when the index is smaller).
+     */
+    public int nearest(double qx, double qy, int[] out) {
+        int k = Math.min(out.length, x.length);
+        if (k == 0) {
+            return 0;
+        }
+        double[] distances = new double[k];
+        int count = searchNearest(0, x.length, 0, qx, qy, out, distances, 0, k);
+        for (int end = count - 1; end > 0; end--) {
+            swapHeap(out, distances, 0, end);
+            siftDown(out, distances, 0, end);
+        }
+        return count;
+    }
+    
+    /**
+     * Writes the indices of samples within {@code radius} of (qx, qy) into
+     * {@code out}, in no particular order, and returns how many there are in
+     * total; only the first {@code out.length} are stored.
+     */
+    public int within(double qx, double qy, double radius, int[] out) {
+        return searchWithin(0, x.length, 0, qx, qy, radius * radius, out, 0);
+    }
+    
+    /**
+     * The {@code k} sampled configurations whose end effectors lie nearest
+     * the target, closest first, as seeds for a solver.
+     */
+    public Population nearestPoses(RobotArm2D.Point2D target, int k) {
+        int[] indices = new int[Math.max(0, k)];
+        int count = nearest(target.x, target.y, indices);
+        Population poses = new Population(count, genes.length);
+        for (int i = 0; i < count; i++) {
+            for (int g = 0; g < genes.length; g++) {
+                poses.setGene(i, g, genes[g][indices[i]]);
+            }
+        }
+        return poses;
+    }
+    
+    private void build(int from, int to, int depth) {
+        if (to - from <= LEAF_SIZE) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        float[] axis = (depth & 1) == 0 ? x : y;
+        selectMedian(axis, from, to - 1, mid);
+        build(from, mid, depth + 1);
+        build(mid + 1, to, depth + 1);
+    }
+    
+    /**
+     * Quickselect over [left, right] on {@code axis} that leaves the sample
+     * of rank {@code target} at that position, smaller ones before it and
+     * larger ones after, moving every column along.
+     */
+    private void selectMedian(float[] axis, int left, int right, int target) {
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (axis[mid] < axis[left]) {
+                swap(mid, left);
+            }
+            if (axis[right] < axis[left]) {
+                swap(right, left);
+            }
+            if (axis[right] < axis[mid]) {
+                swap(right, mid);
+            }
+            float pivot = axis[mid];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (axis[i] < pivot) {
+                    i++;
+                }
+                while (axis[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (target <= j) {
+                right = j;
+            } else if (target >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    private void swap(int a, int b) {
+        float tmp = x[a];
+        x[a] = x[b];
+        x[b] = tmp;
+        tmp = y[a];
+        y[a] = y[b];
+        y[b] = tmp;
+        for (float[] column : genes) {
+            tmp = column[a];
+            column[a] = column[b];
+            column[b] = tmp;
+        }
+    }
+    
+    /**
+     * Keeps the best {@code k} candidates in a max-heap on distance, so the
+     * current worst is at the root and a subtree is skipped once its
+     * splitting plane is farther away than that.
+     */
+    private int searchNearest(int from, int to, int depth, double qx, double qy,
+                              int[] heap, double[] distances, int count, int k) {
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                count = offer(heap, distances, count, k, i, distanceSq(i, qx, qy));
+            }
+            return count;
+        }
+        int mid = (from + to) >>> 1;
+        double delta = (depth & 1) == 0 ? qx - x[mid] : qy - y[mid];
+        count = offer(heap, distances, count, k, mid, distanceSq(mid, qx, qy));
+        if (delta < 0) {
+            count = searchNearest(from, mid, depth + 1, qx, qy, heap, distances, count, k);
+            if (count < k || delta * delta < distances[0]) {
+                count = searchNearest(mid + 1, to, depth + 1, qx, qy, heap, distances, count, k);
+            }
+        } else {
+            count = searchNearest(mid + 1, to, depth + 1, qx, qy, heap, distances, count, k);
+            if (count < k || delta * delta < distances[0]) {
+                count = searchNearest(from, mid, depth + 1, qx, qy, heap, distances, count, k);
+            }
+        }
+        return count;
+    }
+    
+    private int searchWithin(int from, int to, int depth, double qx, double qy, double radiusSq,
+                             int[] out, int count) {
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                count = collect(i, qx, qy, radiusSq, out, count);
+            }
+            return count;
+        }
+        int mid = (from + to) >>> 1;
+        double delta = (depth & 1) == 0 ? qx - x[mid] : qy - y[mid];
+        count = collect(mid, qx, qy, radiusSq, out, count);
+        if (delta < 0 || delta * delta <= radiusSq) {
+            count = searchWithin(from, mid, depth + 1, qx, qy, radiusSq, out, count);
+        }
+        if (delta >= 0 || delta * delta <= radiusSq) {
+            count = searchWithin(mid + 1, to, depth + 1, qx, qy, radiusSq, out, count);
+        }
+        return count;
+    }
+    
+    private int collect(int index, double qx, double qy, double radiusSq, int[] out, int count) {
+        if (distanceSq(index, qx, qy) <= radiusSq) {
+            if (count < out.length) {
+                out[count] = index;
+            }
+            count++;
+        }
+        return count;
+    }
+    
+    private double distanceSq(int index, double qx, double qy) {
+        double dx = x[index] - qx;
+        double dy = y[index] - qy;
+        return dx * dx + dy * dy;
+    }
+    
+    private static int offer(int[] heap, double[] distances, int count, int k, int index, double distance) {
+        if (count < k) {
+            int child = count++;
+            heap[child] = index;
+            distances[child] = distance;
+            while (child > 0) {
+                int parent = (child - 1) / 2;
+                if (distances[parent] >= distances[child]) {
+                    break;
+                }
+                swapHeap(heap, distances, parent, child);
+                child = parent;
+            }
+        } else if (distance < distances[0]) {
+            heap[0] = index;
+            distances[0] = distance;
+            siftDown(heap, distances, 0, count);
+        }
+        return count;
+    }
+    
+    private static void siftDown(int[] heap, double[] distances, int root, int end) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= end) {
+                return;
+            }
+            if (child + 1 < end && distances[child + 1] > distances[child]) {
+                child++;
+            }
+            if (distances[root] >= distances[child]) {
+                return;
+            }
+            swapHeap(heap, distances, root, child);
+            root = child;
+        }
+    }
+    
+    private static void swapHeap(int[] heap, double[] distances, int a, int b) {
+        int index = heap[a];
+        heap[a] = heap[b];
+        heap[b] = index;
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+    }
+}
@@ -0,0 +1,236 @@
+package robotics;
+
+public class RobotArm2D extends SerialChain2D {
+    /**
+     * Maximum absolute difference, in length units, between the closed-form
+     * positions and the Matrix3x3 reference for links up to 1e3 units long,
+     * as checked by {@code RobotArm2DTest}.
+     */
+    public static final double FK_TOLERANCE = 1e-9;
+    
+    private static final boolean VECTOR_FK = vectorFkAvailable();
+    
+    private double cos1;
+    private double sin1;
+    
+    public RobotArm2D(double a1, double a2) {
+        super(a1, a2);
+    }
+    
+    public void setJointAngles(double q1, double q2) {
+        setJointAngle(0, q1);
+        setJointAngle(1, q2);
+    }
+    
+    public double getQ1() {
+        return angles[0];
+    }
+    
+    public double getQ2() {
+        return angles[1];
+    }
+    
+    public double getA1() {
+        return lengths[0];
+    }
+    
+    public double getA2() {
+        return lengths[1];
+    }
+    
+    public void setA1(double a1) {
+        setLength(0, a1);
+    }
+    
+    public void setA2(double a2) {
+        setLength(1, a2);
+    }
+    
+    public Point2D getJoint1Position() {
+        return new Point2D(0, 0);
+    }
+    
+    public Point2D getJoint2Position() {
+        return getJointPosition(1);
+    }
+    
+    /**
+     * Writes joint 2 and end effector positions of the current pose into
+     * {@code out} as {x2, y2, xe, ye}.
+     */
+    public void getPositions(double[] out) {
+        positionsInto(out);
+    }
+    
+    /**
+     * Closed form for two links: cos/sin of q1 are cached, and q1 + q2 comes
+     * from the angle-sum identity, so a pose change costs four trig calls and
+     * a change of q2 alone costs two.
+     */
+    @Override
+    protected void computePositions(int from, double[] theta, double[] jointX, double[] jointY) {
+        double a1 = lengths[0];
+        double a2 = lengths[1];
+        if (from == 0) {
+            cos1 = Math.cos(angles[0]);
+            sin1 = Math.sin(angles[0]);
+            theta[0] = angles[0];
+            jointX[1] = a1 * cos1;
+            jointY[1] = a1 * sin1;
+        }
+        double cos2 = Math.cos(angles[1]);
+        double sin2 = Math.sin(angles[1]);
+        theta[1] = theta[0] + angles[1];
+        jointX[2] = jointX[1] + a2 * (cos1 * cos2 - sin1 * sin2);
+        jointY[2] = jointY[1] + a2 * (sin1 * cos2 + cos1 * sin2);
+    }
+    
+    /**
+     * Same layout as {@link #getPositions(double[])} for the given angles,
+     * without changing the pose of this arm.
+     */
+    public void forwardKinematics(double q1, double q2, double[] out) {
+        double a1 = lengths[0];
+        double a2 = lengths[1];
+        double c1 = Math.cos(q1);
+        double s1 = Math.sin(q1);
+        double c2 = Math.cos(q2);
+        double s2 = Math.sin(q2);
+        out[0] = a1 * c1;
+        out[1] = a1 * s1;
+        out[2] = out[0] + a2 * (c1 * c2 - s1 * s2);
+        out[3] = out[1] + a2 * (s1 * c2 + c1 * s2);
+    }
+    
+    public double endEffectorDistance(double q1, double q2, Point2D target) {
+        double a1 = lengths[0];
+        double a2 = lengths[1];
+        double c1 = Math.cos(q1);
+        double s1 = Math.sin(q1);
+        double c2 = Math.cos(q2);
+        double s2 = Math.sin(q2);
+        double dx = a1 * c1 + a2 * (c1 * c2 - s1 * s2) - target.x;
+        double dy = a1 * s1 + a2 * (s1 * c2 + c1 * s2) - target.y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+    
+    /**
+     * Batch forward kinematics: writes the end effector position of the
+     * first {@code n} poses (q1[i], q2[i]) into outX[i], outY[i]. Reads only
+     * the link lengths, so concurrent calls on disjoint output ranges are safe.
+     * Runs on the Vector API kernel when {@link #isVectorFk()} is true.
+     */
+    public void fk(double[] q1, double[] q2, double[] outX, double[] outY, int n) {
+        fk(q1, q2, outX, outY, 0, n);
+    }
+    
+    public void fk(double[] q1, double[] q2, double[] outX, double[] outY, int from, int to) {
+        fk(lengths[0], lengths[1], q1, q2, outX, outY, from, to);
+    }
+    
+    /**
+     * True when batch FK runs on the jdk.incubator.vector kernel. That needs
+     * the JVM to be started with {@code --add-modules jdk.incubator.vector};
+     * otherwise, or with {@code -Drobotics.scalarFk=true}, the scalar loop
+     * is used. The two agree to within a few ulps.
+     */
+    public static boolean isVectorFk() {
+        return VECTOR_FK;
+    }
+    
+    private static boolean vectorFkAvailable() {
+        if (Boolean.getBoolean("robotics.scalarFk")
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorFk.lanes() > 1;
+        } catch (LinkageError ex) {
+            return false;
+        }
+    }
+    
+    static void fk(double l1, double l2, double[] q1, double[] q2,
+                   double[] outX, double[] outY, int from, int to) {
+        if (VECTOR_FK) {
+            VectorFk.fk(l1, l2, q1, q2, outX, outY, from, to);
+        } else {
+            fkScalar(l1, l2, q1, q2, outX, outY, from, to);
+        }
+    }
+    
+    static void fkScalar(double l1, double l2, double[] q1, double[] q2,
+                         double[] outX, double[] outY, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double c1 = Math.cos(q1[i]);
+            double s1 = Math.sin(q1[i]);
+            double c2 = Math.cos(q2[i]);
+            double s2 = Math.sin(q2[i]);
+            outX[i] = l1 * c1 + l2 * (c1 * c2 - s1 * s2);
+            outY[i] = l1 * s1 + l2 * (s1 * c2 + c1 * s2);
+        }
+    }
+    
+    /**
+     * Writes the analytic 2x2 Jacobian of the end effector position at
+     * (q1, q2) into {@code out} in row-major order: dx/dq1, dx/dq2, dy/dq1, dy/dq2.
+     */
+    public void jacobian(double q1, double q2, double[] out) {
+        double a1 = lengths[0];
+        double a2 = lengths[1];
+        double c1 = Math.cos(q1);
+        double s1 = Math.sin(q1);
+        double c2 = Math.cos(q2);
+        double s2 = Math.sin(q2);
+        double c12 = c1 * c2 - s1 * s2;
+        double s12 = s1 * c2 + c1 * s2;
+        out[0] = -a1 * s1 - a2 * s12;
+        out[1] = -a2 * s12;
+        out[2] = a1 * c1 + a2 * c12;
+        out[3] = a2 * c12;
+    }
+    
+    public Point2D getJoint2PositionReference() {
+        Matrix3x3 T01 = getTransformationMatrix(angles[0], lengths[0]);
+        return new Point2D(T01.get(0, 2), T01.get(1, 2));
+    }
+    
+    public Point2D getEndEffectorPositionReference() {
+        Matrix3x3 T01 = getTransformationMatrix(angles[0], lengths[0]);
+        Matrix3x3 T12 = getTransformationMatrix(angles[1], lengths[1]);
+        Matrix3x3 T02 = T01.multiply(T12);
+        return new Point2D(T02.get(0, 2), T02.get(1, 2));
+    }
+    
+    private Matrix3x3 getTransformationMatrix(double angle, double length) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        
+        return new Matrix3x3(
+            cos, -sin, length * cos,
+            sin, cos, length * sin,
+            0, 0, 1
+        );
+    }
+    
+    public static class Point2D {
+        public final double x;
+        public final double y;
+        
+        public Point2D(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+        
+        public double distanceTo(Point2D other) {
+            double dx = this.x - other.x;
+            double dy = this.y - other.y;
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("(%.4f, %.4f)", x, y);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package robotics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads a log written by {@link RunLogWriter}. Opening walks the block
+ * headers only and groups consecutive blocks into windows of about
+ * {@value #WINDOW_BYTES} bytes. Each window is memory-mapped the first time a
+ * scan reaches it and read in place, so logs larger than the heap (or than
+ * one 2 GB mapping) can be scanned and replayed without copying, and even
+ * logs of many small blocks need only a few mappings. A partial block at the
+ * end of the file, left by a writer that did not close, is ignored.
+ */
+public final class RunLogReader implements Closeable {
+    /** Size a window grows to before the next block starts a new one. */
+    static final long WINDOW_BYTES = 1L << 30;
+    
+    private final FileChannel channel;
+    private final int dof;
+    private final boolean populations;
+    private final int[] types;
+    private final int[] counts;
+    private final int[] sizes;
+    private final int[] windowOf;
+    private final int[] windowOffsets;
+    private final int blocks;
+    private final long[] windowStarts;
+    private final long[] windowEnds;
+    private final ByteBuffer[] windows;
+    private final double[] targetX;
+    private final double[] targetY;
+    private final long generations;
+    private final int snapshots;
+    
+    private RunLogReader(FileChannel channel, ByteBuffer header) throws IOException {
+        this.channel = channel;
+        this.dof = header.getInt(8);
+        this.populations = (header.getInt(12) & RunLogWriter.FLAG_POPULATIONS) != 0;
+        
+        int capacity = 64;
+        int[] types = new int[capacity];
+        int[] counts = new int[capacity];
+        int[] sizes = new int[capacity];
+        int[] windowOf = new int[capacity];
+        int[] windowOffsets = new int[capacity];
+        int blocks = 0;
+        long[] windowStarts = new long[8];
+        long[] windowEnds = new long[8];
+        int windowCount = 0;
+        int solves = 0;
+        long generations = 0;
+        int snapshots = 0;
+        long size = channel.size();
+        long position = RunLogWriter.HEADER_BYTES;
+        ByteBuffer blockHeader = ByteBuffer.allocate(RunLogWriter.BLOCK_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (position + RunLogWriter.BLOCK_HEADER_BYTES <= size) {
+            readFully(blockHeader, position);
+            int type = blockHeader.getInt(0);
+            int count = blockHeader.getInt(4);
+            long bytes = blockHeader.getLong(8);
+            long payload = position + RunLogWriter.BLOCK_HEADER_BYTES;
+            if (count < 0 || bytes < 0 || bytes > Integer.MAX_VALUE || payload + bytes > size
+                    || bytes != expectedBytes(type, count)) {
+                break;
+            }
+            if (blocks == capacity) {
+                capacity *= 2;
+                types = Arrays.copyOf(types, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                windowOf = Arrays.copyOf(windowOf, capacity);
+                windowOffsets = Arrays.copyOf(windowOffsets, capacity);
+            }
+            // A block larger than a window gets one of its own, which still
+            // fits a single mapping since blocks are below 2 GB.
+            if (windowCount == 0 || payload + bytes - windowStarts[windowCount - 1] > WINDOW_BYTES) {
+                if (windowCount == windowStarts.length) {
+                    windowStarts = Arrays.copyOf(windowStarts, 2 * windowCount);
+                    windowEnds = Arrays.copyOf(windowEnds, 2 * windowCount);
+                }
+                windowStarts[windowCount++] = payload;
+            }
+            windowEnds[windowCount - 1] = payload + bytes;
+            types[blocks] = type;
+            counts[blocks] = count;
+            sizes[blocks] = (int) bytes;
+            windowOf[blocks] = windowCount - 1;
+            windowOffsets[blocks] = (int) (payload - windowStarts[windowCount - 1]);
+            blocks++;
+            if (type == RunLogWriter.SOLVES) {
+                solves += count;
+            } else if (type == RunLogWriter.GENERATIONS) {
+                generations += count;
+            } else {
+                snapshots++;
+            }
+            position = payload + bytes;
+        }
+        this.types = types;
+        this.counts = counts;
+        this.sizes = sizes;
+        this.windowOf = windowOf;
+        this.windowOffsets = windowOffsets;
+        this.blocks = blocks;
+        this.windowStarts = windowStarts;
+        this.windowEnds = windowEnds;
+        this.windows = new ByteBuffer[windowCount];
+        this.generations = generations;
+        this.snapshots = snapshots;
+        
+        this.targetX = new double[solves];
+        this.targetY = new double[solves];
+        int solve = 0;
+        for (int block = 0; block < blocks; block++) {
+            if (types[block] == RunLogWriter.SOLVES) {
+                ByteBuffer data = block(block);
+                int n = counts[block];
+                for (int i = 0; i < n; i++, solve++) {
+                    targetX[solve] = data.getDouble(8 * i);
+                    targetY[solve] = data.getDouble(8 * (n + i));
+                }
+            }
+        }
+    }
+    
+    public static RunLogReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(RunLogWriter.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < RunLogWriter.HEADER_BYTES) {
+                throw new IOException("Not a run log: " + path);
+            }
+            readFully(channel, header, 0);
+            if (header.getInt(0) != RunLogWriter.MAGIC) {
+                throw new IOException("Not a run log: " + path);
+            }
+            if (header.getInt(4) != RunLogWriter.VERSION) {
+                throw new IOException("Unsupported run log version " + header.getInt(4)
+                    + " in " + path + ", expected " + RunLogWriter.VERSION);
+            }
+            if (header.getInt(8) < 1) {
+                throw new IOException("Not a run log: " + path);
+            }
+            return new RunLogReader(channel, header);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+    
+    public int getDof() {
+        return dof;
+    }
+    
+    /**
+     * Whether the writer was asked to log whole populations; solvers without
+     * a population still have none.
+     */
+    public boolean hasPopulations() {
+        return populations;
+    }
+    
+    public int getSolveCount() {
+        return targetX.length;
+    }
+    
+    public long getGenerationCount() {
+        return generations;
+    }
+    
+    public int getPopulationCount() {
+        return snapshots;
+    }
+    
+    public RobotArm2D.Point2D getTarget(int solve) {
+        return new RobotArm2D.Point2D(targetX[solve], targetY[solve]);
+    }
+    
+    @FunctionalInterface
+    public interface GenerationVisitor {
+        /**
+         * @param genes the best individual's joint angles; the array is
+         *              reused for the next record
+         */
+        void visit(int solve, int generation, double[] genes, double x, double y, double error);
+    }
+    
+    @FunctionalInterface
+    public interface PopulationVisitor {
+        /**
+         * @param population view of the mapped block, valid only during
+         *                   the call
+         */
+        void visit(int solve, int generation, PopulationSnapshot population);
+    }
+    
+    /**
+     * Read-only view of one logged population, stored as floats.
+     */
+    public static final class PopulationSnapshot {
+        private final ByteBuffer data;
+        private final int size;
+        
+        private PopulationSnapshot(ByteBuffer data, int size) {
+            this.data = data;
+            this.size = size;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public double getX(int index) {
+            return data.getFloat(8 + 4 * index);
+        }
+        
+        public double getY(int index) {
+            return data.getFloat(8 + 4 * (size + index));
+        }
+        
+        public double getFitness(int index) {
+            return data.getFloat(8 + 4 * (2 * size + index));
+        }
+        
+        public double getGene(int index, int gene) {
+            return data.getFloat(8 + 4 * ((3 + gene) * size + index));
+        }
+    }
+    
+    /**
+     * Visits every generation record in file order.
+     */
+    public void forEachGeneration(GenerationVisitor visitor) throws IOException {
+        forEachGeneration(-1, visitor);
+    }
+    
+    /**
+     * Visits the generation records of one solve in order; a negative
+     * {@code solve} visits all of them.
+     */
+    public void forEachGeneration(int solve, GenerationVisitor visitor) throws IOException {
+        double[] genes = new double[dof];
+        for (int block = 0; block < blocks; block++) {
+            if (types[block] != RunLogWriter.GENERATIONS) {
+                continue;
+            }
+            ByteBuffer data = block(block);
+            int n = counts[block];
+            int generationsAt = 4 * n;
+            int errors = 8 * n;
+            for (int i = 0; i < n; i++) {
+                int owner = data.getInt(4 * i);
+                if (solve >= 0 && owner != solve) {
+                    continue;
+                }
+                for (int k = 0; k < dof; k++) {
+                    genes[k] = data.getDouble(errors + 8 * ((3 + k) * n + i));
+                }
+                visitor.visit(owner, data.getInt(generationsAt + 4 * i), genes,
+                    data.getDouble(errors + 8 * (n + i)), data.getDouble(errors + 8 * (2 * n + i)),
+                    data.getDouble(errors + 8 * i));
+            }
+        }
+    }
+    
+    /**
+     * Visits the logged populations of one solve in order; a negative
+     * {@code solve} visits all of them.
+     */
+    public void forEachPopulation(int solve, PopulationVisitor visitor) throws IOException {
+        for (int block = 0; block < blocks; block++) {
+            if (types[block] != RunLogWriter.POPULATION) {
+                continue;
+            }
+            ByteBuffer data = block(block);
+            int owner = data.getInt(0);
+            if (solve < 0 || owner == solve) {
+                visitor.visit(owner, data.getInt(4), new PopulationSnapshot(data, counts[block]));
+            }
+        }
+    }
+    
+    /**
+     * Replays the best pose of each generation of {@code solve} as trajectory
+     * points, e.g. into a {@code RobotVisualization} playback, so the search
+     * can be watched converging on its target. Trajectory points carry two
+     * joint angles, so the log must be of a two-joint chain.
+     *
+     * @return the number of points replayed
+     */
+    public int replay(int solve, Consumer<TrajectoryTracker.TrajectoryPoint> sink) throws IOException {
+        if (dof != 2) {
+            throw new IllegalArgumentException("Run log is for a " + dof
+                + "-joint chain, replay needs a two-joint arm");
+        }
+        if (solve < 0 || solve >= getSolveCount()) {
+            throw new IllegalArgumentException("No solve " + solve + " in a run log of "
+                + getSolveCount() + " solves");
+        }
+        RobotArm2D.Point2D target = getTarget(solve);
+        int[] index = new int[1];
+        forEachGeneration(solve, (owner, generation, genes, x, y, error) ->
+            sink.accept(new TrajectoryTracker.TrajectoryPoint(index[0]++, target, genes[0], genes[1], error,
+                false)));
+        return index[0];
+    }
+    
+    /**
+     * Closes the file; windows already mapped stay readable.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    /**
+     * Little-endian view of one block's payload inside its mapped window.
+     */
+    private ByteBuffer block(int block) throws IOException {
+        int window = windowOf[block];
+        ByteBuffer data = windows[window];
+        if (data == null) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, windowStarts[window],
+                windowEnds[window] - windowStarts[window]);
+            windows[window] = data;
+        }
+        return data.slice(windowOffsets[block], sizes[block]).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    
+    private long expectedBytes(int type, int count) {
+        switch (type) {
+            case RunLogWriter.SOLVES:
+                return 16L * count;
+            case RunLogWriter.GENERATIONS:
+                return 8L * count * (4 + dof);
+            case RunLogWriter.POPULATION:
+                return (8 + 4L * count * (3 + dof) + 7) & ~7L;
+            default:
+                return -1;
+        }
+    }
+    
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        readFully(channel, buffer, position);
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of run log");
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package robotics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Appends GA run histories to a compact binary log that {@link RunLogReader}
+ * memory-maps for replay.
+ * <p>
+ * The file is little-endian: a {@value #HEADER_BYTES}-byte header (magic,
+ * format version, degrees of freedom, flags) followed by blocks, each a
+ * {@value #BLOCK_HEADER_BYTES}-byte header (type, record count, payload
+ * bytes as a long) and a columnar payload:
+ * <ul>
+ * <li>SOLVES: double target x[n], target y[n]. Solve ids count up from 0
+ * across all SOLVES blocks in file order.</li>
+ * <li>GENERATIONS: int solve[n], int generation[n], then double error[n],
+ * x[n], y[n] and one double column per gene.</li>
+ * <li>POPULATION: int solve, int generation, then float x[n], y[n],
+ * fitness[n] and one float column per gene, padded to 8 bytes.</li>
+ * </ul>
+ * Records are batched in column arrays and written as one block per batch
+ * through a reused direct buffer, so logging a generation costs a few array
+ * stores. Writes are synchronized, so solves running on several threads may
+ * share a writer; their generations interleave in the file but each keeps
+ * its solve id. Population blocks are written as they are recorded, so they
+ * usually come before the batched generation records of the same
+ * generations; readers match the two by solve and generation. A log cut short
+ * by a crash is readable up to its last whole block.
+ */
+public final class RunLogWriter implements Closeable {
+    static final int MAGIC = 0x494B524C;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int BLOCK_HEADER_BYTES = 16;
+    static final int SOLVES = 1;
+    static final int GENERATIONS = 2;
+    static final int POPULATION = 3;
+    static final int FLAG_POPULATIONS = 1;
+    
+    private static final int DEFAULT_BATCH = 1024;
+    
+    private final FileChannel channel;
+    private final int dof;
+    private final boolean populations;
+    private final int batch;
+    private ByteBuffer buffer;
+    
+    private final double[] targetX;
+    private final double[] targetY;
+    private int pendingSolves;
+    private int solves;
+    
+    private final int[] solveColumn;
+    private final int[] generationColumn;
+    private final double[] errorColumn;
+    private final double[] xColumn;
+    private final double[] yColumn;
+    private final double[][] geneColumns;
+    private int pending;
+    private long generations;
+    private long bytesWritten;
+    
+    private RunLogWriter(FileChannel channel, int dof, boolean populations, int batch) {
+        this.channel = channel;
+        this.dof = dof;
+        this.populations = populations;
+        this.batch = batch;
+        this.buffer = ByteBuffer.allocateDirect(BLOCK_HEADER_BYTES + generationBytes(batch, dof))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        this.targetX = new double[batch];
+        this.targetY = new double[batch];
+        this.solveColumn = new int[batch];
+        this.generationColumn = new int[batch];
+        this.errorColumn = new double[batch];
+        this.xColumn = new double[batch];
+        this.yColumn = new double[batch];
+        this.geneColumns = new double[dof][batch];
+    }
+    
+    /**
+     * Creates or truncates the log at {@code path} for chains with
+     * {@code dof} joints. With {@code populations} set, solves logged through
+     * a {@link SolveLog} also write every generation's whole population,
+     * which is far larger than the best-per-generation records.
+     */
+    public static RunLogWriter create(Path path, int dof, boolean populations) throws IOException {
+        return create(path, dof, populations, DEFAULT_BATCH);
+    }
+    
+    /**
+     * @param batch generation records buffered per block
+     */
+    public static RunLogWriter create(Path path, int dof, boolean populations, int batch) throws IOException {
+        if (dof < 1 || batch < 1) {
+            throw new IllegalArgumentException("dof and batch must be positive: " + dof + ", " + batch);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        RunLogWriter writer = new RunLogWriter(channel, dof, populations, batch);
+        try {
+            ByteBuffer header = writer.buffer;
+            header.clear();
+            header.putInt(MAGIC).putInt(VERSION).putInt(dof).putInt(populations ? FLAG_POPULATIONS : 0);
+            writer.write(header);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        return writer;
+    }
+    
+    public int getDof() {
+        return dof;
+    }
+    
+    public boolean isLoggingPopulations() {
+        return populations;
+    }
+    
+    public synchronized int getSolveCount() {
+        return solves;
+    }
+    
+    public synchronized long getGenerationCount() {
+        return generations;
+    }
+    
+    /**
+     * Bytes written to the file so far, not counting records still batched.
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+    
+    /**
+     * Starts a new solve and returns its log, which records generations as a
+     * {@link InverseKinematicsController#addProgressListener progress listener}.
+     */
+    public synchronized SolveLog beginSolve(RobotArm2D.Point2D target) {
+        if (pendingSolves == batch) {
+            flushSolves();
+        }
+        targetX[pendingSolves] = target.x;
+        targetY[pendingSolves] = target.y;
+        pendingSolves++;
+        return new SolveLog(solves++);
+    }
+    
+    /**
+     * Logs a finished solve from its retained history.
+     */
+    public void append(RobotArm2D.Point2D target, InverseKinematicsController.SolutionResult result) {
+        beginSolve(target).append(result.history);
+    }
+    
+    public synchronized void record(int solve, int generation, double[] genes, double x, double y,
+                                    double error) {
+        int i = pending;
+        solveColumn[i] = solve;
+        generationColumn[i] = generation;
+        errorColumn[i] = error;
+        xColumn[i] = x;
+        yColumn[i] = y;
+        for (int k = 0; k < dof; k++) {
+            geneColumns[k][i] = genes[k];
+        }
+        generations++;
+        if (++pending == batch) {
+            flushGenerations();
+        }
+    }
+    
+    /**
+     * Writes the population as its own block at once, leaving the batched
+     * generation records pending, so logging populations does not shrink the
+     * generation blocks to one record each.
+     */
+    private synchronized void recordPopulation(int solve, int generation, Population population) {
+        flushSolves();
+        int n = population.size();
+        int bytes = populationBytes(n, dof);
+        ByteBuffer out = reserve(BLOCK_HEADER_BYTES + bytes);
+        out.putInt(POPULATION).putInt(n).putLong(bytes);
+        out.putInt(solve).putInt(generation);
+        for (int i = 0; i < n; i++) {
+            out.putFloat((float) population.getX(i));
+        }
+        for (int i = 0; i < n; i++) {
+            out.putFloat((float) population.getY(i));
+        }
+        for (int i = 0; i < n; i++) {
+            out.putFloat((float) population.getFitness(i));
+        }
+        for (int k = 0; k < dof; k++) {
+            for (int i = 0; i < n; i++) {
+                out.putFloat((float) population.getGene(i, k));
+            }
+        }
+        while (out.position() % 8 != 0) {
+            out.put((byte) 0);
+        }
+        writeUnchecked(out);
+    }
+    
+    /**
+     * Writes every batched record to the file.
+     */
+    public synchronized void flush() {
+        flushGenerations();
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (UncheckedIOException ex) {
+            channel.close();
+            throw ex.getCause();
+        }
+        channel.close();
+    }
+    
+    private void flushSolves() {
+        int n = pendingSolves;
+        if (n == 0) {
+            return;
+        }
+        ByteBuffer out = reserve(BLOCK_HEADER_BYTES + 16 * n);
+        out.putInt(SOLVES).putInt(n).putLong(16L * n);
+        out.asDoubleBuffer().put(targetX, 0, n).put(targetY, 0, n);
+        out.position(out.position() + 16 * n);
+        pendingSolves = 0;
+        writeUnchecked(out);
+    }
+    
+    /**
+     * Also flushes the pending solves first, so every record in the file
+     * follows the target of its solve.
+     */
+    private void flushGenerations() {
+        flushSolves();
+        int n = pending;
+        if (n == 0) {
+            return;
+        }
+        int bytes = generationBytes(n, dof);
+        ByteBuffer out = reserve(BLOCK_HEADER_BYTES + bytes);
+        out.putInt(GENERATIONS).putInt(n).putLong(bytes);
+        out.asIntBuffer().put(solveColumn, 0, n).put(generationColumn, 0, n);
+        out.position(out.position() + 8 * n);
+        DoubleBuffer doubles = out.asDoubleBuffer();
+        doubles.put(errorColumn, 0, n).put(xColumn, 0, n).put(yColumn, 0, n);
+        for (double[] column : geneColumns) {
+            doubles.put(column, 0, n);
+        }
+        out.position(out.position() + 8 * n * (3 + dof));
+        pending = 0;
+        writeUnchecked(out);
+    }
+    
+    private ByteBuffer reserve(int bytes) {
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocateDirect(Math.max(bytes, 2 * buffer.capacity()))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        buffer.clear();
+        return buffer;
+    }
+    
+    private void writeUnchecked(ByteBuffer out) {
+        try {
+            write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private void write(ByteBuffer out) throws IOException {
+        out.flip();
+        bytesWritten += out.remaining();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+    
+    static int generationBytes(int records, int dof) {
+        return 8 * records * (4 + dof);
+    }
+    
+    static int populationBytes(int size, int dof) {
+        return (8 + 4 * size * (3 + dof) + 7) & ~7;
+    }
+    
+    /**
+     * The log of one solve. As a progress listener it records the best
+     * individual of every generation, and the whole population as well when
+     * the writer logs populations and the solver keeps one.
+     */
+    public final class SolveLog implements Consumer<SearchProgress> {
+        private final int solve;
+        private int recorded;
+        
+        private SolveLog(int solve) {
+            this.solve = solve;
+        }
+        
+        public int getSolve() {
+            return solve;
+        }
+        
+        /**
+         * Generations recorded through this log so far.
+         */
+        public int getRecorded() {
+            return recorded;
+        }
+        
+        @Override
+        public void accept(SearchProgress progress) {
+            int generation = progress.getLatestGeneration();
+            record(solve, generation, progress.latestGenes(), progress.getLatestX(), progress.getLatestY(),
+                progress.getLatestError());
+            recorded++;
+            Population population = progress.population();
+            if (populations && population != null) {
+                recordPopulation(solve, generation, population);
+            }
+        }
+        
+        public void append(GenerationHistory history) {
+            double[] genes = new double[dof];
+            for (int i = 0; i < history.size(); i++) {
+                for (int k = 0; k < dof; k++) {
+                    genes[k] = history.getGene(i, k);
+                }
+                record(solve, history.getGeneration(i), genes, history.getX(i), history.getY(i),
+                    history.getError(i));
+                recorded++;
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package robotics;
+
+/**
+ * Running state of one solve, shared by the solver loop and its termination
+ * criteria. Solvers record the best fitness of each generation; criteria read
+ * the derived statistics. Population diversity is only computed when a
+ * criterion asks for it.
+ */
+public class SearchProgress {
+    /**
+     * Generations for which {@link #getBestFitness(int)} stays available.
+     */
+    public static final int RETAINED_GENERATIONS = 1024;
+    
+    private final long startNanos;
+    private final double[] bestSoFar;
+    private int generations;
+    private int lastImprovement;
+    private Population population;
+    private int latestGeneration;
+    private double[] latestGenes;
+    private double latestX;
+    private double latestY;
+    private double latestError;
+    private double diversity;
+    private String stopReason;
+    
+    public SearchProgress() {
+        this.startNanos = System.nanoTime();
+        this.bestSoFar = new double[RETAINED_GENERATIONS];
+        this.diversity = Double.NaN;
+    }
+    
+    /**
+     * Records the best individual of one generation; {@code genes} is
+     * copied. {@code population} may be null for solvers that do not keep
+     * one, in which case diversity is reported as NaN.
+     */
+    void record(int generation, double[] genes, double x, double y, double error,
+                Population population) {
+        double best = getBestFitness();
+        if (error < best) {
+            best = error;
+            lastImprovement = generations;
+        }
+        bestSoFar[generations++ % RETAINED_GENERATIONS] = best;
+        if (latestGenes == null || latestGenes.length != genes.length) {
+            latestGenes = new double[genes.length];
+        }
+        System.arraycopy(genes, 0, latestGenes, 0, genes.length);
+        this.latestGeneration = generation;
+        this.latestX = x;
+        this.latestY = y;
+        this.latestError = error;
+        this.population = population;
+        this.diversity = Double.NaN;
+    }
+    
+    /**
+     * Best individual of the most recently recorded generation, built on
+     * each call, or null before the first one.
+     */
+    public InverseKinematicsController.GenerationResult getLatest() {
+        if (latestGenes == null) {
+            return null;
+        }
+        return new InverseKinematicsController.GenerationResult(latestGeneration, latestGenes.clone(),
+            new RobotArm2D.Point2D(latestX, latestY), latestError);
+    }
+    
+    int getLatestGeneration() {
+        return latestGeneration;
+    }
+    
+    /**
+     * Genes of the latest best individual, not copied.
+     */
+    double[] latestGenes() {
+        return latestGenes;
+    }
+    
+    double getLatestX() {
+        return latestX;
+    }
+    
+    double getLatestY() {
+        return latestY;
+    }
+    
+    double getLatestError() {
+        return latestError;
+    }
+    
+    Population population() {
+        return population;
+    }
+    
+    void stop(String reason) {
+        this.stopReason = reason;
+    }
+    
+    public String getStopReason() {
+        return stopReason;
+    }
+    
+    public int getGenerations() {
+        return generations;
+    }
+    
+    public double getBestFitness() {
+        return generations == 0 ? Double.MAX_VALUE : bestSoFar[(generations - 1) % RETAINED_GENERATIONS];
+    }
+    
+    /**
+     * Best fitness seen up to and including {@code generation}, which must
+     * be one of the last {@value #RETAINED_GENERATIONS} recorded.
+     */
+    public double getBestFitness(int generation) {
+        if (generation < 0 || generation >= generations || generation < generations - RETAINED_GENERATIONS) {
+            throw new IndexOutOfBoundsException("Generation " + generation + " is not retained, "
+                + generations + " recorded");
+        }
+        return bestSoFar[generation % RETAINED_GENERATIONS];
+    }
+    
+    public int getGenerationsSinceImprovement() {
+        return generations == 0 ? 0 : generations - 1 - lastImprovement;
+    }
+    
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+    
+    /**
+     * Size of the last recorded population, or 0 for solvers that do not
+     * keep one.
+     */
+    public int getPopulationSize() {
+        return population == null ? 0 : population.size();
+    }
+    
+    /**
+     * End-effector x of individual {@code index} in the last recorded
+     * population, as evaluated for that generation.
+     */
+    public double getPopulationX(int index) {
+        return population.getX(index);
+    }
+    
+    public double getPopulationY(int index) {
+        return population.getY(index);
+    }
+    
+    /**
+     * Mean standard deviation of the genes across the last recorded
+     * population, in radians, or NaN if there is none.
+     */
+    public double getDiversity() {
+        if (Double.isNaN(diversity) && population != null) {
+            int n = population.size();
+            double total = 0;
+            for (int k = 0; k < population.getDof(); k++) {
+                double sum = 0;
+                double sumSq = 0;
+                for (int i = 0; i < n; i++) {
+                    double gene = population.getGene(i, k);
+                    sum += gene;
+                    sumSq += gene * gene;
+                }
+                double mean = sum / n;
+                total += Math.sqrt(Math.max(0, sumSq / n - mean * mean));
+            }
+            diversity = total / population.getDof();
+        }
+        return diversity;
+    }
+}
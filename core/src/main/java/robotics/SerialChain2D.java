@@ -0,0 +1,188 @@
+package robotics;
+
+/**
+ * Planar serial chain of revolute joints. Forward kinematics keeps the prefix
+ * of cumulative link angles and joint positions, so changing joint k only
+ * recomputes links k..N-1 on the next position query.
+ */
+public class SerialChain2D {
+    protected final double[] lengths;
+    protected final double[] angles;
+    private final double[] theta;
+    private final double[] jointX;
+    private final double[] jointY;
+    private int dirtyFrom;
+    
+    public SerialChain2D(double... lengths) {
+        if (lengths.length == 0) {
+            throw new IllegalArgumentException("A chain needs at least one link");
+        }
+        this.lengths = lengths.clone();
+        this.angles = new double[lengths.length];
+        this.theta = new double[lengths.length];
+        this.jointX = new double[lengths.length + 1];
+        this.jointY = new double[lengths.length + 1];
+        this.dirtyFrom = 0;
+    }
+    
+    public int getDof() {
+        return lengths.length;
+    }
+    
+    public double getLength(int link) {
+        return lengths[link];
+    }
+    
+    public void setLength(int link, double length) {
+        lengths[link] = length;
+        dirtyFrom = Math.min(dirtyFrom, link);
+    }
+    
+    public double[] getLengths() {
+        return lengths.clone();
+    }
+    
+    public double getReach() {
+        double reach = 0;
+        for (double length : lengths) {
+            reach += length;
+        }
+        return reach;
+    }
+    
+    /**
+     * Radius of the hole around the base that the end effector cannot enter:
+     * how far the longest link outreaches all the others folded back.
+     */
+    public double getMinReach() {
+        double longest = 0;
+        for (double length : lengths) {
+            longest = Math.max(longest, length);
+        }
+        return Math.max(0, 2 * longest - getReach());
+    }
+    
+    /**
+     * Joint angles of the pose closest to {@code target} when the target lies
+     * outside the reach annulus, or null when it is reachable. Outside the
+     * outer radius the chain is stretched towards the target; inside the
+     * hole the longest link points at it and the others fold back.
+     */
+    public double[] closestReachablePose(RobotArm2D.Point2D target) {
+        double distance = Math.hypot(target.x, target.y);
+        double heading = Math.atan2(target.y, target.x);
+        double[] pose = new double[lengths.length];
+        if (distance > getReach()) {
+            pose[0] = heading;
+            return pose;
+        }
+        if (distance >= getMinReach()) {
+            return null;
+        }
+        int longest = 0;
+        for (int link = 1; link < lengths.length; link++) {
+            if (lengths[link] > lengths[longest]) {
+                longest = link;
+            }
+        }
+        double previous = 0;
+        for (int link = 0; link < lengths.length; link++) {
+            double absolute = link == longest ? heading : heading + Math.PI;
+            pose[link] = Math.IEEEremainder(absolute - previous, 2 * Math.PI);
+            previous = absolute;
+        }
+        return pose;
+    }
+    
+    public double getJointAngle(int joint) {
+        return angles[joint];
+    }
+    
+    public void setJointAngle(int joint, double angle) {
+        angles[joint] = angle;
+        dirtyFrom = Math.min(dirtyFrom, joint);
+    }
+    
+    public void setJointAngles(double... angles) {
+        System.arraycopy(angles, 0, this.angles, 0, this.angles.length);
+        dirtyFrom = 0;
+    }
+    
+    public double[] getJointAngles() {
+        return angles.clone();
+    }
+    
+    /**
+     * Position of joint {@code joint}; joint 0 is the base and joint N is the
+     * end effector.
+     */
+    public RobotArm2D.Point2D getJointPosition(int joint) {
+        update();
+        return new RobotArm2D.Point2D(jointX[joint], jointY[joint]);
+    }
+    
+    public RobotArm2D.Point2D getEndEffectorPosition() {
+        update();
+        return new RobotArm2D.Point2D(jointX[lengths.length], jointY[lengths.length]);
+    }
+    
+    public double getEndEffectorX() {
+        update();
+        return jointX[lengths.length];
+    }
+    
+    public double getEndEffectorY() {
+        update();
+        return jointY[lengths.length];
+    }
+    
+    /**
+     * Index of the first link whose transform is stale, or N when the cached
+     * positions are current.
+     */
+    public int getDirtyFrom() {
+        return dirtyFrom;
+    }
+    
+    /**
+     * Writes joints 1..N of the current pose into {@code out} as x, y pairs,
+     * without allocating.
+     */
+    void positionsInto(double[] out) {
+        update();
+        for (int joint = 1; joint <= lengths.length; joint++) {
+            out[2 * joint - 2] = jointX[joint];
+            out[2 * joint - 1] = jointY[joint];
+        }
+    }
+    
+    private void update() {
+        int n = lengths.length;
+        if (dirtyFrom >= n) {
+            return;
+        }
+        computePositions(dirtyFrom, theta, jointX, jointY);
+        dirtyFrom = n;
+    }
+    
+    /**
+     * Recomputes the cumulative angle {@code theta[link]} and the position
+     * of joint link + 1 for every link from {@code from} on; earlier entries
+     * are current. Subclasses may replace the generic loop with a closed
+     * form for their link count.
+     */
+    protected void computePositions(int from, double[] theta, double[] jointX, double[] jointY) {
+        int n = lengths.length;
+        double t = from == 0 ? 0 : theta[from - 1];
+        double x = jointX[from];
+        double y = jointY[from];
+        for (int link = from; link < n; link++) {
+            t += angles[link];
+            x += lengths[link] * Math.cos(t);
+            y += lengths[link] * Math.sin(t);
+            theta[link] = t;
+            jointX[link + 1] = x;
+            jointY[link + 1] = y;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package robotics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of IK solutions keyed on the target and link lengths, each
+ * quantised to a fixed step, and on the solver's joint limits, so a pose is
+ * only reused by solvers whose range it lies in. Entries live in a concurrent map, so lookups
+ * and puts from concurrent solves never wait for each other. Each entry is
+ * also filed in a spatial bucket of side (a1 + a2) / {@value #BUCKETS_PER_REACH}
+ * so {@link #nearest} only visits the buckets around the target.
+ * <p>
+ * Eviction is approximately least recently used: a hit stamps its entry
+ * with the time, and once the cache grows past its bound one thread drops
+ * the oldest {@value #EVICT_DIVISOR}th of the entries in a single pass.
+ */
+public class SolutionCache {
+    private static final int BUCKETS_PER_REACH = 16;
+    private static final int EVICT_DIVISOR = 16;
+    
+    private final int maxEntries;
+    private final double quantum;
+    private final int neighbours;
+    private final double seedFraction;
+    private final double seedSpread;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, Set<Entry>> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong seededSolves = new AtomicLong();
+    
+    public SolutionCache(int maxEntries) {
+        this(maxEntries, 1e-3, 4, 0.2, 0.05);
+    }
+    
+    /**
+     * @param quantum      grid step used to quantise target and link lengths
+     * @param neighbours   cached solutions used to seed a miss
+     * @param seedFraction share of the initial population placed around them
+     * @param seedSpread   standard deviation, in radians, of the seeded genes
+     */
+    public SolutionCache(int maxEntries, double quantum, int neighbours,
+                         double seedFraction, double seedSpread) {
+        this.maxEntries = maxEntries;
+        this.quantum = quantum;
+        this.neighbours = neighbours;
+        this.seedFraction = seedFraction;
+        this.seedSpread = seedSpread;
+    }
+    
+    public double getSeedFraction() {
+        return seedFraction;
+    }
+    
+    public double getSeedSpread() {
+        return seedSpread;
+    }
+    
+    /**
+     * Returns a cached pose whose end effector is within {@code errorThreshold}
+     * of the target, or null. The error is recomputed for the exact target, so
+     * a hit never reports a better error than the pose really achieves.
+     */
+    public Individual lookup(RobotArm2D robot, double minAngle, double maxAngle, RobotArm2D.Point2D target,
+                             double errorThreshold) {
+        Entry entry = entries.get(key(target, robot, minAngle, maxAngle));
+        if (entry != null) {
+            double error = robot.endEffectorDistance(entry.q1, entry.q2, target);
+            if (error < errorThreshold) {
+                entry.lastUsed = System.nanoTime();
+                hits.incrementAndGet();
+                Individual individual = new Individual(entry.q1, entry.q2);
+                individual.setFitness(error);
+                return individual;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+    
+    /**
+     * Returns up to {@code neighbours} cached poses for the same link lengths
+     * and joint limits, nearest target first, or null when there are none. Buckets are visited
+     * in square rings around the target's bucket, stopping once every
+     * unvisited bucket is farther away than the worst pose kept.
+     */
+    public Population nearest(RobotArm2D robot, double minAngle, double maxAngle, RobotArm2D.Point2D target) {
+        long a1 = quantise(robot.getA1());
+        long a2 = quantise(robot.getA2());
+        long min = limit(minAngle);
+        long max = limit(maxAngle);
+        double size = bucketSize(a1, a2);
+        long column = bucket(target.x, size);
+        long row = bucket(target.y, size);
+        // Solutions lie within reach of the base, so no bucket beyond this
+        // ring can hold one.
+        long lastRing = (long) Math.ceil((Math.hypot(target.x, target.y) + (a1 + a2) * quantum) / size) + 1;
+        Entry[] best = new Entry[neighbours];
+        double[] bestDistance = new double[neighbours];
+        int found = 0;
+        
+        for (long ring = 0; ring <= lastRing; ring++) {
+            if (found == neighbours && ring > 1
+                    && bestDistance[neighbours - 1] <= square((ring - 1) * size)) {
+                break;
+            }
+            for (long dy = -ring; dy <= ring; dy++) {
+                boolean edge = dy == -ring || dy == ring;
+                for (long dx = -ring; dx <= ring; dx += edge ? 1 : 2 * ring) {
+                    Set<Entry> bucket = buckets.get(new Key(column + dx, row + dy, a1, a2, min, max));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (Entry entry : bucket) {
+                        double distance = square(entry.x - target.x) + square(entry.y - target.y);
+                        int slot = found < neighbours ? found++ : neighbours;
+                        while (slot > 0 && bestDistance[slot - 1] > distance) {
+                            if (slot < neighbours) {
+                                best[slot] = best[slot - 1];
+                                bestDistance[slot] = bestDistance[slot - 1];
+                            }
+                            slot--;
+                        }
+                        if (slot < neighbours) {
+                            best[slot] = entry;
+                            bestDistance[slot] = distance;
+                        }
+                    }
+                }
+            }
+        }
+        
+        if (found == 0) {
+            return null;
+        }
+        seededSolves.incrementAndGet();
+        Population seeds = new Population(found);
+        for (int i = 0; i < found; i++) {
+            seeds.set(i, best[i].q1, best[i].q2);
+        }
+        return seeds;
+    }
+    
+    /**
+     * The entry is filed in its bucket before it is published in the map,
+     * so an entry that eviction or a later put can find is always in a
+     * bucket to be removed from.
+     */
+    public void put(RobotArm2D robot, double minAngle, double maxAngle, RobotArm2D.Point2D target,
+                    Individual solution) {
+        Key key = key(target, robot, minAngle, maxAngle);
+        double size = bucketSize(key.a1, key.a2);
+        Key bucketKey = new Key(bucket(target.x, size), bucket(target.y, size), key.a1, key.a2, key.min, key.max);
+        Entry entry = new Entry(bucketKey, target.x, target.y, solution.getQ1(), solution.getQ2());
+        buckets.computeIfAbsent(bucketKey, k -> ConcurrentHashMap.newKeySet()).add(entry);
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            unfile(previous);
+        }
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+    
+    /**
+     * Drops the least recently used entries until the cache is a
+     * {@value #EVICT_DIVISOR}th below its bound. Only one thread evicts at a
+     * time; others that overflow meanwhile carry on, so the bound is exceeded
+     * at most by the puts that race the eviction.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int keep = maxEntries - Math.max(1, maxEntries / EVICT_DIVISOR);
+            long[] stamps = new long[entries.size()];
+            int n = 0;
+            for (Entry entry : entries.values()) {
+                if (n == stamps.length) {
+                    break;
+                }
+                stamps[n++] = entry.lastUsed;
+            }
+            int drop = n - Math.max(0, keep);
+            if (drop <= 0) {
+                return;
+            }
+            Arrays.sort(stamps, 0, n);
+            long cutoff = stamps[drop - 1];
+            for (Map.Entry<Key, Entry> mapEntry : entries.entrySet()) {
+                if (drop == 0) {
+                    break;
+                }
+                Entry entry = mapEntry.getValue();
+                if (entry.lastUsed <= cutoff && entries.remove(mapEntry.getKey(), entry)) {
+                    unfile(entry);
+                    evictions.incrementAndGet();
+                    drop--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+    
+    private void unfile(Entry entry) {
+        Set<Entry> bucket = buckets.get(entry.bucket);
+        if (bucket != null) {
+            bucket.remove(entry);
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public void clear() {
+        entries.clear();
+        buckets.clear();
+    }
+    
+    public long getHits() {
+        return hits.get();
+    }
+    
+    public long getMisses() {
+        return misses.get();
+    }
+    
+    public long getEvictions() {
+        return evictions.get();
+    }
+    
+    public long getSeededSolves() {
+        return seededSolves.get();
+    }
+    
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SolutionCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, seeded=%d]",
+            size(), maxEntries, getHits(), getMisses(), getEvictions(), getSeededSolves());
+    }
+    
+    private Key key(RobotArm2D.Point2D target, RobotArm2D robot, double minAngle, double maxAngle) {
+        return new Key(quantise(target.x), quantise(target.y), quantise(robot.getA1()), quantise(robot.getA2()),
+            limit(minAngle), limit(maxAngle));
+    }
+    
+    private long quantise(double value) {
+        return Math.round(value / quantum);
+    }
+    
+    /**
+     * Limits are matched exactly, not quantised, since a pose at the edge of
+     * one range may lie just outside a range a quantum narrower.
+     */
+    private static long limit(double angle) {
+        return Double.doubleToLongBits(angle + 0.0);
+    }
+    
+    /**
+     * Bucket side for an arm, from its quantised lengths so every entry of
+     * the same key uses the same buckets.
+     */
+    private double bucketSize(long a1, long a2) {
+        return Math.max(quantum, (a1 + a2) * quantum / BUCKETS_PER_REACH);
+    }
+    
+    private static long bucket(double value, double size) {
+        return (long) Math.floor(value / size);
+    }
+    
+    private static double square(double value) {
+        return value * value;
+    }
+    
+    private static final class Key {
+        final long x;
+        final long y;
+        final long a1;
+        final long a2;
+        final long min;
+        final long max;
+        
+        Key(long x, long y, long a1, long a2, long min, long max) {
+            this.x = x;
+            this.y = y;
+            this.a1 = a1;
+            this.a2 = a2;
+            this.min = min;
+            this.max = max;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return x == other.x && y == other.y && a1 == other.a1 && a2 == other.a2
+                && min == other.min && max == other.max;
+        }
+        
+        @Override
+        public int hashCode() {
+            long h = x * 31 + y;
+            h = h * 31 + a1;
+            h = h * 31 + a2;
+            h = h * 31 + min;
+            h = h * 31 + max;
+            return Long.hashCode(h);
+        }
+    }
+    
+    private static final class Entry {
+        final Key bucket;
+        final double x;
+        final double y;
+        final double q1;
+        final double q2;
+        volatile long lastUsed = System.nanoTime();
+        
+        Entry(Key bucket, double x, double y, double q1, double q2) {
+            this.bucket = bucket;
+            this.x = x;
+            this.y = y;
+            this.q1 = q1;
+            this.q2 = q2;
+        }
+    }
+}
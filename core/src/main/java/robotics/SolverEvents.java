@@ -0,0 +1,91 @@
+package robotics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder events emitted by {@link SolverMetrics} while it is
+ * enabled. They are committed only when a recording has them switched on,
+ * e.g. {@code -XX:StartFlightRecording:filename=solve.jfr} with
+ * {@code -Drobotics.metrics=true}.
+ */
+final class SolverEvents {
+    private SolverEvents() {
+    }
+    
+    @Name("robotics.SolverPhase")
+    @Label("Solver Phase")
+    @Description("One timed section of a solve: population initialisation, fitness evaluation, "
+        + "selection, crossover and mutation, a whole generation's evolve step, or a solve")
+    @Category({"Robotics", "Inverse Kinematics"})
+    @StackTrace(false)
+    static class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+        
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+        
+        @Label("Individuals")
+        int individuals;
+    }
+    
+    @Name("robotics.Solve")
+    @Label("IK Solve")
+    @Description("A finished InverseKinematicsController solve")
+    @Category({"Robotics", "Inverse Kinematics"})
+    @StackTrace(false)
+    static class SolveEvent extends Event {
+        @Label("Solver")
+        String solver;
+        
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+        
+        @Label("Generations")
+        int generations;
+        
+        @Label("Error")
+        double error;
+        
+        @Label("Stop Reason")
+        String stopReason;
+        
+        @Label("Allocated")
+        @Description("Bytes allocated on the solving thread, or -1 if the JVM cannot report it")
+        @DataAmount
+        long allocated;
+    }
+    
+    static void phase(SolverMetrics.Phase phase, long elapsed, int individuals) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.shouldCommit()) {
+            event.phase = phase.name();
+            event.elapsed = elapsed;
+            event.individuals = individuals;
+            event.commit();
+        }
+    }
+    
+    static void solve(String solver, long elapsed, InverseKinematicsController.SolutionResult result,
+                      long allocated) {
+        SolveEvent event = new SolveEvent();
+        if (event.shouldCommit()) {
+            event.solver = solver;
+            event.elapsed = elapsed;
+            event.generations = result.generations;
+            event.error = result.bestIndividual.getFitness();
+            event.stopReason = result.terminatedBy;
+            event.allocated = allocated;
+            event.commit();
+        }
+    }
+}
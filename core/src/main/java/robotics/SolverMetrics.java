@@ -0,0 +1,184 @@
+package robotics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide timings of the solver hot paths, kept in {@link Histogram}s
+ * and mirrored as Flight Recorder events ({@link SolverEvents}).
+ * <p>
+ * Instrumentation is off unless {@link #setEnabled} is called or the JVM is
+ * started with {@code -Drobotics.metrics=true}. While it is off a probe is
+ * one volatile read and a branch, with no clock reads, histogram updates or
+ * events; the JMH {@code MetricsBenchmark} measures the difference.
+ * <p>
+ * Phases are timed once per call, never per individual: EVALUATE per
+ * fitness pass, SELECT and BREED summed over one evolve step (crossover and
+ * mutation are fused per gene, so BREED covers both), SOLVE per controller
+ * solve. Allocation is read per solve from the solving thread, so work
+ * forked to an evaluation pool is not counted.
+ */
+public final class SolverMetrics {
+    public enum Phase {
+        INITIALIZE,
+        EVALUATE,
+        SELECT,
+        BREED,
+        EVOLVE,
+        SOLVE
+    }
+    
+    private static final Map<Phase, Histogram> PHASES = new EnumMap<>(Phase.class);
+    private static final Histogram GENERATIONS = new Histogram();
+    private static final Histogram ALLOCATED_BYTES = new Histogram();
+    private static final LongAdder FK_EVALUATIONS = new LongAdder();
+    
+    private static volatile boolean enabled = Boolean.getBoolean("robotics.metrics");
+    
+    static {
+        for (Phase phase : Phase.values()) {
+            PHASES.put(phase, new Histogram());
+        }
+    }
+    
+    private SolverMetrics() {
+    }
+    
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    public static void setEnabled(boolean enabled) {
+        SolverMetrics.enabled = enabled;
+    }
+    
+    public static void reset() {
+        for (Histogram histogram : PHASES.values()) {
+            histogram.reset();
+        }
+        GENERATIONS.reset();
+        ALLOCATED_BYTES.reset();
+        FK_EVALUATIONS.reset();
+    }
+    
+    /**
+     * Nanoseconds spent per call of {@code phase}.
+     */
+    public static Histogram getHistogram(Phase phase) {
+        return PHASES.get(phase);
+    }
+    
+    /**
+     * Generations each controller solve ran before it stopped.
+     */
+    public static Histogram getGenerations() {
+        return GENERATIONS;
+    }
+    
+    /**
+     * Bytes allocated on the solving thread per controller solve.
+     */
+    public static Histogram getAllocatedBytes() {
+        return ALLOCATED_BYTES;
+    }
+    
+    /**
+     * Individuals passed through forward kinematics by GA fitness passes.
+     */
+    public static long getFkEvaluations() {
+        return FK_EVALUATIONS.sum();
+    }
+    
+    /**
+     * FK evaluations per second of time spent in fitness passes.
+     */
+    public static double getFkEvaluationsPerSecond() {
+        long nanos = PHASES.get(Phase.EVALUATE).getSum();
+        return nanos == 0 ? 0 : getFkEvaluations() / (nanos / 1e9);
+    }
+    
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-12s %10s %12s %12s %12s %12s%n",
+            "phase", "count", "mean us", "p50 us", "p99 us", "max us"));
+        for (Phase phase : Phase.values()) {
+            Histogram histogram = PHASES.get(phase);
+            report.append(String.format("%-12s %10d %12.2f %12.2f %12.2f %12.2f%n", phase,
+                histogram.getCount(), histogram.getMean() / 1e3, histogram.getPercentile(0.5) / 1e3,
+                histogram.getPercentile(0.99) / 1e3, histogram.getMax() / 1e3));
+        }
+        report.append(String.format("FK evaluations %d (%.3g per second of evaluation)%n",
+            getFkEvaluations(), getFkEvaluationsPerSecond()));
+        report.append("generations per solve: ").append(GENERATIONS).append(String.format("%n"));
+        report.append("bytes allocated per solve: ").append(ALLOCATED_BYTES).append(String.format("%n"));
+        return report.toString();
+    }
+    
+    /**
+     * Opens a timed section: the current time, or 0 when disabled, which
+     * makes the matching stop a no-op.
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+    
+    static void stop(Phase phase, long start, int individuals) {
+        if (start != 0) {
+            record(phase, System.nanoTime() - start, individuals);
+        }
+    }
+    
+    static void record(Phase phase, long nanos, int individuals) {
+        PHASES.get(phase).record(nanos);
+        if (phase == Phase.EVALUATE) {
+            FK_EVALUATIONS.add(individuals);
+        }
+        SolverEvents.phase(phase, nanos, individuals);
+    }
+    
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM cannot
+     * tell. Only call with a non-zero start.
+     */
+    static long allocatedBytes() {
+        return Allocation.THREADS == null ? -1 : Allocation.THREADS.getCurrentThreadAllocatedBytes();
+    }
+    
+    static void solved(long start, long allocatedBefore, InverseKinematicsSolver solver,
+                       InverseKinematicsController.SolutionResult result) {
+        if (start == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+        record(Phase.SOLVE, elapsed, 0);
+        GENERATIONS.record(result.generations);
+        if (allocated >= 0) {
+            ALLOCATED_BYTES.record(allocated);
+        }
+        SolverEvents.solve(solver.getClass().getSimpleName(), elapsed, result, allocated);
+    }
+    
+    /**
+     * Holder so the management bean is only looked up once a solve is
+     * actually measured.
+     */
+    private static final class Allocation {
+        static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    }
+    
+    private static com.sun.management.ThreadMXBean threadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,120 @@
+package robotics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of early-termination criteria, plus an optional up-front
+ * reachability check. The error threshold and generation budget passed to
+ * solve() always apply; their names are reported like any other criterion.
+ */
+public final class TerminationCriteria {
+    public static final String ERROR_THRESHOLD = "error threshold";
+    public static final String MAX_GENERATIONS = "max generations";
+    public static final String UNREACHABLE = "unreachable";
+    public static final String CLOSED_FORM = "closed form";
+    public static final String CACHE_HIT = "cache hit";
+    public static final String STALLED = "stalled";
+    public static final String CANCELLED = "cancelled";
+    
+    public static final TerminationCriteria NONE = new TerminationCriteria(Collections.emptyList(), false);
+    
+    private final List<TerminationCriterion> criteria;
+    private final boolean reachabilityCheck;
+    
+    private TerminationCriteria(List<TerminationCriterion> criteria, boolean reachabilityCheck) {
+        this.criteria = criteria;
+        this.reachabilityCheck = reachabilityCheck;
+    }
+    
+    public static TerminationCriteria of(TerminationCriterion... criteria) {
+        return new TerminationCriteria(Collections.unmodifiableList(Arrays.asList(criteria.clone())), false);
+    }
+    
+    public TerminationCriteria and(TerminationCriterion criterion) {
+        List<TerminationCriterion> combined = new ArrayList<>(criteria);
+        combined.add(criterion);
+        return new TerminationCriteria(Collections.unmodifiableList(combined), reachabilityCheck);
+    }
+    
+    /**
+     * Criteria that stop when either set would, these checked first, with
+     * the reachability check if either has it. This is how a solver adds
+     * criteria passed to withTermination to the ones it was built with.
+     */
+    public TerminationCriteria and(TerminationCriteria other) {
+        if (other == NONE || other == this) {
+            return this;
+        }
+        if (this == NONE) {
+            return other;
+        }
+        List<TerminationCriterion> combined = new ArrayList<>(criteria);
+        combined.addAll(other.criteria);
+        return new TerminationCriteria(Collections.unmodifiableList(combined),
+            reachabilityCheck || other.reachabilityCheck);
+    }
+    
+    /**
+     * Also returns the closest reachable pose immediately, without searching,
+     * for targets outside the chain's reach annulus.
+     */
+    public TerminationCriteria withReachabilityCheck() {
+        return new TerminationCriteria(criteria, true);
+    }
+    
+    public boolean isReachabilityCheck() {
+        return reachabilityCheck;
+    }
+    
+    /**
+     * With the reachability check on and {@code target} outside the chain's
+     * reach annulus, the closest reachable pose as a finished result reported
+     * as {@link #UNREACHABLE}; otherwise null and the solver searches. Every
+     * iterative solver calls this before its first generation.
+     */
+    InverseKinematicsController.SolutionResult closestReachable(SerialChain2D chain, RobotArm2D.Point2D target) {
+        double[] pose = reachabilityCheck ? chain.closestReachablePose(target) : null;
+        if (pose == null) {
+            return null;
+        }
+        double x = 0;
+        double y = 0;
+        double absolute = 0;
+        for (int link = 0; link < pose.length; link++) {
+            absolute += pose[link];
+            x += chain.getLength(link) * Math.cos(absolute);
+            y += chain.getLength(link) * Math.sin(absolute);
+        }
+        RobotArm2D.Point2D endEffector = new RobotArm2D.Point2D(x, y);
+        Individual closest = new Individual(pose);
+        closest.setFitness(endEffector.distanceTo(target));
+        List<InverseKinematicsController.GenerationResult> history = new ArrayList<>(1);
+        history.add(new InverseKinematicsController.GenerationResult(0, pose, endEffector, closest.getFitness()));
+        return new InverseKinematicsController.SolutionResult(closest, history, UNREACHABLE);
+    }
+    
+    public List<TerminationCriterion> getCriteria() {
+        return criteria;
+    }
+    
+    /**
+     * Returns the name of the first criterion that fires, or null to keep
+     * searching.
+     */
+    public String check(SearchProgress progress) {
+        for (TerminationCriterion criterion : criteria) {
+            if (criterion.shouldStop(progress)) {
+                return criterion.toString();
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public String toString() {
+        return "TerminationCriteria" + criteria + (reachabilityCheck ? " + reachability check" : "");
+    }
+}
@@ -0,0 +1,74 @@
+package robotics;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Condition checked after every generation that ends a solve early. The
+ * criterion's toString() is reported as the reason the solve stopped.
+ * Criteria keep no state of their own, so one instance can be shared by
+ * concurrent solves.
+ */
+public interface TerminationCriterion {
+    boolean shouldStop(SearchProgress progress);
+    
+    static TerminationCriterion named(String name, Predicate<SearchProgress> condition) {
+        return new TerminationCriterion() {
+            @Override
+            public boolean shouldStop(SearchProgress progress) {
+                return condition.test(progress);
+            }
+            
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+    
+    /**
+     * Stops when the best fitness has not improved for {@code window}
+     * generations.
+     */
+    static TerminationCriterion noImprovement(int window) {
+        return named("no improvement in " + window + " generations",
+            progress -> progress.getGenerationsSinceImprovement() >= window);
+    }
+    
+    /**
+     * Stops when the best fitness improved by less than {@code epsilon}
+     * times its value over the last {@code window} generations, at most
+     * {@link SearchProgress#RETAINED_GENERATIONS} minus one.
+     */
+    static TerminationCriterion relativeImprovement(int window, double epsilon) {
+        if (window < 1 || window >= SearchProgress.RETAINED_GENERATIONS) {
+            throw new IllegalArgumentException("window must be in 1.."
+                + (SearchProgress.RETAINED_GENERATIONS - 1) + ": " + window);
+        }
+        return named(String.format("relative improvement below %.3g over %d generations", epsilon, window),
+            progress -> {
+                int latest = progress.getGenerations() - 1;
+                if (latest < window) {
+                    return false;
+                }
+                double before = progress.getBestFitness(latest - window);
+                return before - progress.getBestFitness() <= epsilon * before;
+            });
+    }
+    
+    /**
+     * Stops when the mean per-joint standard deviation of the population
+     * falls below {@code minDiversity} radians. Never fires for solvers
+     * without a population, and island solves check it once per epoch.
+     */
+    static TerminationCriterion diversityBelow(double minDiversity) {
+        return named(String.format("diversity below %.3g rad", minDiversity),
+            progress -> progress.getDiversity() < minDiversity);
+    }
+    
+    static TerminationCriterion deadline(Duration budget) {
+        long nanos = budget.toNanos();
+        return named("deadline of " + budget.toMillis() + " ms",
+            progress -> progress.getElapsedNanos() >= nanos);
+    }
+}
@@ -0,0 +1,272 @@
+package robotics;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Follows a Cartesian path one waypoint at a time. Each waypoint is solved
+ * starting from the previous waypoint's joint angles, kept on the same elbow
+ * branch, unwrapped so the angles change continuously, limited to a maximum
+ * joint step and kept within the solver's joint limits. Points are handed to
+ * the sink as soon as they are solved and only the previous pose is kept, so
+ * paths of any length run in constant memory.
+ */
+public class TrajectoryTracker {
+    private static final double SEED_FRACTION = 0.5;
+    private static final double SEED_SPREAD = 0.02;
+    private static final double TWO_PI = 2 * Math.PI;
+    
+    private final RobotArm2D robot;
+    private final InverseKinematicsSolver solver;
+    private final double minAngle;
+    private final double maxAngle;
+    private double maxJointStep = Double.POSITIVE_INFINITY;
+    private boolean keepBranch = true;
+    
+    /**
+     * @param solver solver for each waypoint; it is run with no history.
+     *               Solvers that take seeds start from the previous pose,
+     *               and every point is kept within the solver's limits.
+     */
+    public TrajectoryTracker(RobotArm2D robot, InverseKinematicsSolver solver) {
+        this.robot = robot;
+        this.solver = solver.withHistory(HistoryRetention.NONE);
+        this.minAngle = solver.getMinAngle();
+        this.maxAngle = solver.getMaxAngle();
+    }
+    
+    /**
+     * Largest change of any joint between consecutive waypoints, in radians.
+     * A larger move is scaled down along its direction and the point is
+     * reported as limited.
+     */
+    public void setMaxJointStep(double maxJointStep) {
+        this.maxJointStep = maxJointStep > 0 ? maxJointStep : Double.POSITIVE_INFINITY;
+    }
+    
+    public double getMaxJointStep() {
+        return maxJointStep;
+    }
+    
+    /**
+     * When set (the default), a solution on the other elbow branch than the
+     * previous pose is replaced by its mirror, which reaches the same point,
+     * unless the mirror is outside the joint limits.
+     */
+    public void setKeepBranch(boolean keepBranch) {
+        this.keepBranch = keepBranch;
+    }
+    
+    public boolean isKeepBranch() {
+        return keepBranch;
+    }
+    
+    public static class TrajectoryPoint {
+        public final int index;
+        public final RobotArm2D.Point2D target;
+        public final double q1;
+        public final double q2;
+        public final double error;
+        /** True if the joint step limit cut this move short. */
+        public final boolean limited;
+        
+        TrajectoryPoint(int index, RobotArm2D.Point2D target, double q1, double q2, double error,
+                        boolean limited) {
+            this.index = index;
+            this.target = target;
+            this.q1 = q1;
+            this.q2 = q2;
+            this.error = error;
+            this.limited = limited;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("#%d %s q1=%.6f, q2=%.6f, error=%.6f%s",
+                index, target, q1, q2, error, limited ? " (limited)" : "");
+        }
+    }
+    
+    public static class TrajectoryStats {
+        public final int waypoints;
+        public final int limited;
+        public final int branchCorrections;
+        public final double maxError;
+        public final double meanError;
+        public final long elapsedNanos;
+        
+        TrajectoryStats(int waypoints, int limited, int branchCorrections, double maxError,
+                        double meanError, long elapsedNanos) {
+            this.waypoints = waypoints;
+            this.limited = limited;
+            this.branchCorrections = branchCorrections;
+            this.maxError = maxError;
+            this.meanError = meanError;
+            this.elapsedNanos = elapsedNanos;
+        }
+        
+        public double getWaypointsPerSecond() {
+            return elapsedNanos == 0 ? 0 : waypoints / (elapsedNanos / 1e9);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%d waypoints in %.3f s (%.1f waypoints/s), max error %.6f, mean error %.6f,"
+                    + " %d limited, %d branch corrections",
+                waypoints, elapsedNanos / 1e9, getWaypointsPerSecond(), maxError, meanError,
+                limited, branchCorrections);
+        }
+    }
+    
+    /**
+     * Solves every waypoint in order, starting from the robot's current joint
+     * angles brought within the solver's limits, and passes each result to
+     * {@code sink} before reading the next waypoint. The first waypoint is
+     * seeded with the closed-form pose nearest the current one rather than the
+     * current pose itself, which may be singular, and any waypoint still above
+     * the threshold is solved again from that pose. The move to the first
+     * waypoint is not step-limited. The robot itself is not moved.
+     */
+    public TrajectoryStats track(Iterator<RobotArm2D.Point2D> waypoints, int maxGenerations,
+                                 double errorThreshold, Consumer<TrajectoryPoint> sink) {
+        long start = System.nanoTime();
+        double previousQ1 = toLimits(robot.getQ1(), robot.getQ1());
+        double previousQ2 = toLimits(robot.getQ2(), robot.getQ2());
+        Population seed = new Population(1);
+        double[] positions = new double[4];
+        double[] nearest = new double[2];
+        
+        int count = 0;
+        int limited = 0;
+        int corrections = 0;
+        double maxError = 0;
+        double totalError = 0;
+        
+        while (waypoints.hasNext()) {
+            RobotArm2D.Point2D target = waypoints.next();
+            boolean closedForm = nearestClosedForm(target, previousQ1, previousQ2, nearest);
+            if (count == 0 && closedForm) {
+                seed.set(0, nearest[0], nearest[1]);
+            } else {
+                seed.set(0, previousQ1, previousQ2);
+            }
+            Individual best = solver.solve(robot, target, maxGenerations, errorThreshold,
+                seed, SEED_FRACTION, SEED_SPREAD).bestIndividual;
+            if (best.getFitness() >= errorThreshold && closedForm
+                    && (seed.getQ1(0) != nearest[0] || seed.getQ2(0) != nearest[1])) {
+                seed.set(0, nearest[0], nearest[1]);
+                Individual retry = solver.solve(robot, target, maxGenerations, errorThreshold,
+                    seed, SEED_FRACTION, SEED_SPREAD).bestIndividual;
+                if (retry.getFitness() < best.getFitness()) {
+                    best = retry;
+                }
+            }
+            double q1 = best.getQ1();
+            double q2 = best.getQ2();
+            
+            if (keepBranch && Math.sin(q2) * Math.sin(previousQ2) < 0) {
+                double mirrorQ1 = q1 + 2 * Math.atan2(robot.getA2() * Math.sin(q2),
+                    robot.getA1() + robot.getA2() * Math.cos(q2));
+                double mirrorQ2 = -q2;
+                if (withinLimits(mirrorQ1) && withinLimits(mirrorQ2)
+                        && jointDistance(mirrorQ1, mirrorQ2, previousQ1, previousQ2)
+                        < jointDistance(q1, q2, previousQ1, previousQ2)) {
+                    q1 = mirrorQ1;
+                    q2 = mirrorQ2;
+                    corrections++;
+                }
+            }
+            
+            // Both ends of the move are within the limits, so every point
+            // of a step-limited move along it is as well.
+            double step1 = toLimits(q1, previousQ1) - previousQ1;
+            double step2 = toLimits(q2, previousQ2) - previousQ2;
+            double step = Math.max(Math.abs(step1), Math.abs(step2));
+            boolean cut = count > 0 && step > maxJointStep;
+            if (cut) {
+                step1 *= maxJointStep / step;
+                step2 *= maxJointStep / step;
+                limited++;
+            }
+            q1 = previousQ1 + step1;
+            q2 = previousQ2 + step2;
+            
+            robot.forwardKinematics(q1, q2, positions);
+            double dx = positions[2] - target.x;
+            double dy = positions[3] - target.y;
+            double error = Math.sqrt(dx * dx + dy * dy);
+            maxError = Math.max(maxError, error);
+            totalError += error;
+            
+            sink.accept(new TrajectoryPoint(count, target, q1, q2, error, cut));
+            previousQ1 = q1;
+            previousQ2 = q2;
+            count++;
+        }
+        return new TrajectoryStats(count, limited, corrections, maxError,
+            count == 0 ? 0 : totalError / count, System.nanoTime() - start);
+    }
+    
+    /**
+     * Writes the closed-form branch within the joint limits that is nearest
+     * to (q1, q2) into {@code pose}; false if the target is out of reach or
+     * no branch fits the limits.
+     */
+    private boolean nearestClosedForm(RobotArm2D.Point2D target, double q1, double q2, double[] pose) {
+        AnalyticIKSolver.AnalyticSolution solution = AnalyticIKSolver.solveBranches(robot.getA1(),
+            robot.getA2(), target);
+        if (!solution.reachable) {
+            return false;
+        }
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (AnalyticIKSolver.Branch branch : AnalyticIKSolver.Branch.values()) {
+            double branchQ1 = solution.getQ1(branch);
+            double branchQ2 = solution.getQ2(branch);
+            if (!withinLimits(branchQ1) || !withinLimits(branchQ2)) {
+                continue;
+            }
+            branchQ1 = toLimits(branchQ1, q1);
+            branchQ2 = toLimits(branchQ2, q2);
+            double distance = Math.max(Math.abs(branchQ1 - q1), Math.abs(branchQ2 - q2));
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                pose[0] = branchQ1;
+                pose[1] = branchQ2;
+            }
+        }
+        return nearestDistance < Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Whether some whole-turn shift of the angle lies within the limits.
+     */
+    private boolean withinLimits(double angle) {
+        return !Double.isNaN(AnalyticIKSolver.fitLimits(angle, minAngle, maxAngle));
+    }
+    
+    /**
+     * The angle shifted by whole turns to lie nearest {@code previous} within
+     * the limits, or clamped to them when no shift fits. Without limits this
+     * is plain unwrapping.
+     */
+    private double toLimits(double angle, double previous) {
+        double unwrapped = previous + Math.IEEEremainder(angle - previous, TWO_PI);
+        if (unwrapped > maxAngle) {
+            double shifted = unwrapped - TWO_PI * Math.ceil((unwrapped - maxAngle) / TWO_PI);
+            return shifted >= minAngle ? shifted : maxAngle;
+        }
+        if (unwrapped < minAngle) {
+            double shifted = unwrapped + TWO_PI * Math.ceil((minAngle - unwrapped) / TWO_PI);
+            return shifted <= maxAngle ? shifted : minAngle;
+        }
+        return unwrapped;
+    }
+    
+    /**
+     * How far the larger joint moves from (p1, p2) to reach (q1, q2) within
+     * the limits.
+     */
+    private double jointDistance(double q1, double q2, double p1, double p2) {
+        return Math.max(Math.abs(toLimits(q1, p1) - p1), Math.abs(toLimits(q2, p2) - p2));
+    }
+}
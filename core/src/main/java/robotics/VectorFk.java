@@ -0,0 +1,46 @@
+package robotics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Batch forward kinematics of a two-link arm on jdk.incubator.vector. Only
+ * {@link RobotArm2D} calls it, and only after checking that the module is in
+ * the boot layer, so this class is never loaded on a JVM started without
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorFk {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    
+    private VectorFk() {
+    }
+    
+    static int lanes() {
+        return SPECIES.length();
+    }
+    
+    /**
+     * Same contract as the scalar kernel in {@link RobotArm2D}. Whole vectors
+     * of poses go through lane-wise sin/cos; the remainder of the range is
+     * finished by the scalar loop.
+     */
+    static void fk(double l1, double l2, double[] q1, double[] q2,
+                   double[] outX, double[] outY, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector a = DoubleVector.fromArray(SPECIES, q1, i);
+            DoubleVector b = DoubleVector.fromArray(SPECIES, q2, i);
+            DoubleVector c1 = a.lanewise(VectorOperators.COS);
+            DoubleVector s1 = a.lanewise(VectorOperators.SIN);
+            DoubleVector c2 = b.lanewise(VectorOperators.COS);
+            DoubleVector s2 = b.lanewise(VectorOperators.SIN);
+            DoubleVector c12 = c1.mul(c2).sub(s1.mul(s2));
+            DoubleVector s12 = s1.mul(c2).add(c1.mul(s2));
+            c1.mul(l1).add(c12.mul(l2)).intoArray(outX, i);
+            s1.mul(l1).add(s12.mul(l2)).intoArray(outY, i);
+        }
+        RobotArm2D.fkScalar(l1, l2, q1, q2, outX, outY, i, to);
+    }
+}
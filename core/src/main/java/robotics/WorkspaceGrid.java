@@ -0,0 +1,325 @@
+package robotics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Precomputed IK lookup table for one two-link arm. The square
+ * [-(a1+a2), a1+a2]^2 is split into resolution x resolution cells, and each
+ * cell stores the closed-form elbow-up and elbow-down poses of its centre,
+ * NaN where a branch is unreachable or outside the joint limits. Reachability
+ * and the nearest stored pose are then answered in O(1); solves seed from the
+ * cell and refine instead of starting from scratch.
+ * <p>
+ * The table lives in a single little-endian buffer laid out exactly as the
+ * file written by {@link #save}: a {@value #HEADER_BYTES}-byte header (magic,
+ * format version, resolution, link lengths, joint limits) followed by four
+ * floats per cell in row-major order, y rows from the bottom. {@link #load}
+ * memory-maps the file and reads it in place, so a service can open a large
+ * grid at startup without copying it onto the heap.
+ */
+public final class WorkspaceGrid {
+    static final int MAGIC = 0x494B4752;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int CELL_BYTES = 16;
+    
+    private static final double SEED_FRACTION = 0.2;
+    /** Relative tolerance on link lengths and limits in {@link #matches}. */
+    private static final double MATCH_TOLERANCE = 1e-9;
+    private static final double SEED_SPREAD = 0.05;
+    
+    private final ByteBuffer data;
+    private final int resolution;
+    private final double a1;
+    private final double a2;
+    private final double minAngle;
+    private final double maxAngle;
+    private final double extent;
+    private final double cellSize;
+    
+    private WorkspaceGrid(ByteBuffer data) {
+        this.data = data;
+        this.resolution = data.getInt(8);
+        this.a1 = data.getDouble(16);
+        this.a2 = data.getDouble(24);
+        this.minAngle = data.getDouble(32);
+        this.maxAngle = data.getDouble(40);
+        this.extent = a1 + a2;
+        this.cellSize = 2 * extent / resolution;
+    }
+    
+    public static WorkspaceGrid build(RobotArm2D robot, int resolution) {
+        return build(robot, resolution, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+            ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Solves every cell centre, one task per block of rows on {@code pool}.
+     * Cells are written with absolute puts, so workers never share state.
+     */
+    public static WorkspaceGrid build(RobotArm2D robot, int resolution, double minAngle, double maxAngle,
+                                      ForkJoinPool pool) {
+        long bytes = HEADER_BYTES + (long) resolution * resolution * CELL_BYTES;
+        if (resolution < 1 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Resolution must be between 1 and "
+                + (int) Math.sqrt((Integer.MAX_VALUE - HEADER_BYTES) / CELL_BYTES) + ": " + resolution);
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(0, MAGIC);
+        data.putInt(4, VERSION);
+        data.putInt(8, resolution);
+        data.putDouble(16, robot.getA1());
+        data.putDouble(24, robot.getA2());
+        data.putDouble(32, minAngle);
+        data.putDouble(40, maxAngle);
+        
+        WorkspaceGrid grid = new WorkspaceGrid(data);
+        pool.invoke(grid.new FillTask(0, resolution));
+        return grid;
+    }
+    
+    /**
+     * Maps a grid written by {@link #save}. The mapping stays valid after the
+     * channel is closed and is read in place.
+     */
+    public static WorkspaceGrid load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a workspace grid: " + path);
+            }
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (data.getInt(0) != MAGIC) {
+                throw new IOException("Not a workspace grid: " + path);
+            }
+            if (data.getInt(4) != VERSION) {
+                throw new IOException("Unsupported workspace grid version " + data.getInt(4)
+                    + " in " + path + ", expected " + VERSION);
+            }
+            int resolution = data.getInt(8);
+            if (resolution < 1 || size != HEADER_BYTES + (long) resolution * resolution * CELL_BYTES) {
+                throw new IOException("Truncated workspace grid: " + path);
+            }
+            return new WorkspaceGrid(data);
+        }
+    }
+    
+    /**
+     * Writes the grid to a temporary file next to {@code path} and moves it
+     * into place. The target is never truncated, so saving over the file this
+     * grid (or any other) was loaded from leaves existing mappings intact.
+     */
+    public void save(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer source = data.duplicate();
+                source.clear();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    public int getResolution() {
+        return resolution;
+    }
+    
+    public double getA1() {
+        return a1;
+    }
+    
+    public double getA2() {
+        return a2;
+    }
+    
+    public double getCellSize() {
+        return cellSize;
+    }
+    
+    public double getMinAngle() {
+        return minAngle;
+    }
+    
+    public double getMaxAngle() {
+        return maxAngle;
+    }
+    
+    /**
+     * True if the grid was built for this arm's link lengths and for these
+     * joint limits, up to rounding. A grid built without limits only matches
+     * a solver without limits.
+     */
+    public boolean matches(RobotArm2D robot, double minAngle, double maxAngle) {
+        return close(robot.getA1(), a1) && close(robot.getA2(), a2)
+            && close(minAngle, this.minAngle) && close(maxAngle, this.maxAngle);
+    }
+    
+    private static boolean close(double a, double b) {
+        return a == b || Double.isFinite(a) && Double.isFinite(b)
+            && Math.abs(a - b) <= MATCH_TOLERANCE * Math.max(Math.abs(a), Math.abs(b));
+    }
+    
+    /**
+     * Whether the centre of the target's cell has a solution within the
+     * joint limits; exact up to half a cell at the edge of the workspace.
+     */
+    public boolean isReachable(RobotArm2D.Point2D target) {
+        int cell = cellOf(target.x, target.y);
+        return cell >= 0 && (!Float.isNaN(q1(cell, AnalyticIKSolver.Branch.ELBOW_UP))
+            || !Float.isNaN(q1(cell, AnalyticIKSolver.Branch.ELBOW_DOWN)));
+    }
+    
+    /**
+     * Writes the stored pose of the target's cell for {@code branch} into
+     * {@code pose}, or the other branch's if that one is missing. Returns false
+     * when the cell has neither, or the target lies outside the grid.
+     */
+    public boolean lookup(RobotArm2D.Point2D target, AnalyticIKSolver.Branch branch, double[] pose) {
+        int cell = cellOf(target.x, target.y);
+        if (cell < 0) {
+            return false;
+        }
+        if (Float.isNaN(q1(cell, branch))) {
+            branch = other(branch);
+            if (Float.isNaN(q1(cell, branch))) {
+                return false;
+            }
+        }
+        pose[0] = q1(cell, branch);
+        pose[1] = q2(cell, branch);
+        return true;
+    }
+    
+    /**
+     * The stored branches of the target's cell as seeds for a solver, or null
+     * if there are none.
+     */
+    public Population seeds(RobotArm2D.Point2D target) {
+        int cell = cellOf(target.x, target.y);
+        if (cell < 0) {
+            return null;
+        }
+        int count = 0;
+        for (AnalyticIKSolver.Branch branch : AnalyticIKSolver.Branch.values()) {
+            if (!Float.isNaN(q1(cell, branch))) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        Population seeds = new Population(count);
+        int index = 0;
+        for (AnalyticIKSolver.Branch branch : AnalyticIKSolver.Branch.values()) {
+            if (!Float.isNaN(q1(cell, branch))) {
+                seeds.set(index++, q1(cell, branch), q2(cell, branch));
+            }
+        }
+        return seeds;
+    }
+    
+    public double getSeedFraction() {
+        return SEED_FRACTION;
+    }
+    
+    public double getSeedSpread() {
+        return SEED_SPREAD;
+    }
+    
+    private int cellOf(double x, double y) {
+        int column = (int) Math.floor((x + extent) / cellSize);
+        int row = (int) Math.floor((y + extent) / cellSize);
+        if (column < 0 || row < 0 || column >= resolution || row >= resolution) {
+            return -1;
+        }
+        return row * resolution + column;
+    }
+    
+    private float q1(int cell, AnalyticIKSolver.Branch branch) {
+        return data.getFloat(offset(cell, branch));
+    }
+    
+    private float q2(int cell, AnalyticIKSolver.Branch branch) {
+        return data.getFloat(offset(cell, branch) + 4);
+    }
+    
+    private static int offset(int cell, AnalyticIKSolver.Branch branch) {
+        return HEADER_BYTES + cell * CELL_BYTES + (branch == AnalyticIKSolver.Branch.ELBOW_UP ? 0 : 8);
+    }
+    
+    private static AnalyticIKSolver.Branch other(AnalyticIKSolver.Branch branch) {
+        return branch == AnalyticIKSolver.Branch.ELBOW_UP
+            ? AnalyticIKSolver.Branch.ELBOW_DOWN : AnalyticIKSolver.Branch.ELBOW_UP;
+    }
+    
+    private void fillRow(int row) {
+        double y = -extent + (row + 0.5) * cellSize;
+        for (int column = 0; column < resolution; column++) {
+            double x = -extent + (column + 0.5) * cellSize;
+            AnalyticIKSolver.AnalyticSolution solution =
+                AnalyticIKSolver.solveBranches(a1, a2, new RobotArm2D.Point2D(x, y));
+            int cell = row * resolution + column;
+            for (AnalyticIKSolver.Branch branch : AnalyticIKSolver.Branch.values()) {
+                double q1 = Double.NaN;
+                double q2 = Double.NaN;
+                if (solution.reachable) {
+                    q1 = AnalyticIKSolver.fitLimits(solution.getQ1(branch), minAngle, maxAngle);
+                    q2 = AnalyticIKSolver.fitLimits(solution.getQ2(branch), minAngle, maxAngle);
+                    if (Double.isNaN(q1) || Double.isNaN(q2)) {
+                        q1 = Double.NaN;
+                        q2 = Double.NaN;
+                    }
+                }
+                data.putFloat(offset(cell, branch), (float) q1);
+                data.putFloat(offset(cell, branch) + 4, (float) q2);
+            }
+        }
+    }
+    
+    @SuppressWarnings("serial")
+    private class FillTask extends RecursiveAction {
+        private static final int ROWS_PER_TASK = 16;
+        
+        private final int from;
+        private final int to;
+        
+        FillTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                for (int row = from; row < to; row++) {
+                    fillRow(row);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new FillTask(from, mid), new FillTask(mid, to));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AsyncSolveTest {
+    @Test
+    void dependentStagesMayReadTheBestSoFarFromAnotherThread() throws Exception {
+        AsyncSolve handle = new AsyncSolve(2, null, HistoryRetention.FULL);
+        CompletableFuture<Boolean> read = handle.result().thenApply(result -> {
+            CompletableFuture<InverseKinematicsController.GenerationResult> best =
+                CompletableFuture.supplyAsync(handle::getBestSoFar);
+            try {
+                best.get(5, TimeUnit.SECONDS);
+                return true;
+            } catch (Exception ex) {
+                return false;
+            }
+        });
+        handle.cancel();
+        assertTrue(read.get(10, TimeUnit.SECONDS));
+        assertTrue(handle.isCancelled());
+        assertEquals(TerminationCriteria.CANCELLED, handle.result().get().terminatedBy);
+    }
+    
+    @Test
+    void partialHistoryStopsAtCancellation() throws Exception {
+        AsyncSolve handle = new AsyncSolve(2, null, HistoryRetention.FULL);
+        TerminationCriteria criteria = handle.criteria(TerminationCriteria.NONE);
+        SearchProgress progress = new SearchProgress();
+        double[] genes = {0.1, 0.2};
+        progress.record(0, genes, 1.0, 1.0, 0.5, null);
+        handle.publish(progress);
+        handle.cancel();
+        progress.record(1, genes, 1.0, 1.0, 0.25, null);
+        handle.publish(progress);
+        assertEquals(TerminationCriteria.CANCELLED, criteria.check(progress));
+        
+        InverseKinematicsController.SolutionResult result = handle.result().get();
+        assertEquals(1, result.history.size());
+        assertEquals(0.5, result.bestIndividual.getFitness());
+    }
+    
+    @Test
+    void solveAsyncKeepsTheSolversOwnCriteria() throws Exception {
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        GeneticAlgorithm ga = new GeneticAlgorithm(50, 0.1, 0.8, -Math.PI, Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(3);
+        TerminationCriteria own = TerminationCriteria.of(
+            TerminationCriterion.named("own criterion", progress -> progress.getGenerations() >= 5));
+        InverseKinematicsController controller = new InverseKinematicsController(robot,
+            new GeneticAlgorithmSolver(ga, own));
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(5, 5);
+        
+        AsyncSolve handle = controller.solveAsync(target, 100_000, 1e-9, null);
+        InverseKinematicsController.SolutionResult result = handle.result().get(10, TimeUnit.SECONDS);
+        assertEquals("own criterion", result.terminatedBy);
+        assertEquals(5, result.generations);
+        assertNotNull(handle.getBestSoFar());
+        
+        controller.setSolver(new GeneticAlgorithmSolver(ga, own.withReachabilityCheck()));
+        result = controller.solveAsync(target, 100_000, 1e-9, null).result().get(10, TimeUnit.SECONDS);
+        assertEquals(TerminationCriteria.UNREACHABLE, result.terminatedBy);
+    }
+}
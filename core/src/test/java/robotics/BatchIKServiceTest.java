@@ -0,0 +1,102 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BatchIKServiceTest {
+    private final RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+    
+    @Test
+    void solvesEveryTargetInIndexOrder() throws InterruptedException {
+        List<RobotArm2D.Point2D> targets = List.of(new RobotArm2D.Point2D(2.0, 2.0),
+            new RobotArm2D.Point2D(1.5, 1.0), new RobotArm2D.Point2D(-1.0, 2.5));
+        try (BatchIKService service = new BatchIKService(robot,
+                new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES), 2, 2)) {
+            List<BatchIKService.BatchResult> results = service.solveAll(targets, 100, 1e-6);
+            for (int i = 0; i < targets.size(); i++) {
+                assertEquals(i, results.get(i).index);
+                assertTrue(results.get(i).isSolved(1e-6), results.get(i).toString());
+            }
+        }
+    }
+    
+    @Test
+    void interruptedSolveStopsAfterItsCurrentGeneration() {
+        GeneticAlgorithmSolver solver = new GeneticAlgorithmSolver(newGa());
+        Thread.currentThread().interrupt();
+        InverseKinematicsController.SolutionResult result;
+        try {
+            result = solver.solve(robot, new RobotArm2D.Point2D(5, 5), 1_000_000, 1e-9);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertEquals(TerminationCriteria.CANCELLED, result.terminatedBy);
+        assertEquals(1, result.generations);
+    }
+    
+    @Test
+    void interruptingABatchStopsItsSolves() throws InterruptedException {
+        AtomicInteger generations = new AtomicInteger();
+        TerminationCriteria counting = TerminationCriteria.of(TerminationCriterion.named("counting", progress -> {
+            generations.incrementAndGet();
+            return false;
+        }));
+        GeneticAlgorithmSolver solver = new GeneticAlgorithmSolver(newGa(), counting);
+        List<RobotArm2D.Point2D> targets = Collections.nCopies(4, new RobotArm2D.Point2D(5, 5));
+        BatchIKService service = new BatchIKService(robot, solver, 2, 4);
+        Thread caller = Thread.currentThread();
+        Thread interrupter = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            caller.interrupt();
+        });
+        interrupter.start();
+        long start = System.nanoTime();
+        assertThrows(InterruptedException.class, () -> service.solveAll(targets, Integer.MAX_VALUE, 1e-9));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        interrupter.join();
+        
+        int stoppedAt = generations.get();
+        Thread.sleep(200);
+        assertEquals(stoppedAt, generations.get());
+        service.close();
+    }
+    
+    @Test
+    void everySolverAppliesTheReachabilityCheck() throws InterruptedException {
+        TerminationCriteria criteria = TerminationCriteria.NONE.withReachabilityCheck();
+        try (IslandModelSolver island = new IslandModelSolver(newGa(), 2)) {
+            List<InverseKinematicsSolver> solvers = List.of(new GeneticAlgorithmSolver(newGa()), island,
+                new HybridIKSolver(newGa(), 5),
+                new JacobianIKSolver(JacobianIKSolver.Method.LEVENBERG_MARQUARDT));
+            List<RobotArm2D.Point2D> targets = List.of(new RobotArm2D.Point2D(0, 5), new RobotArm2D.Point2D(0.1, 0.1));
+            for (InverseKinematicsSolver solver : solvers) {
+                try (BatchIKService service = new BatchIKService(robot, solver.withTermination(criteria), 1, 2)) {
+                    List<BatchIKService.BatchResult> results = service.solveAll(targets, 100_000, 1e-9);
+                    String name = solver.getClass().getSimpleName();
+                    assertEquals(1, results.get(0).generations, name);
+                    assertEquals(1.5, results.get(0).error, 1e-12, name);
+                    assertEquals(1, results.get(1).generations, name);
+                    assertEquals(0.5 - Math.hypot(0.1, 0.1), results.get(1).error, 1e-12, name);
+                }
+            }
+        }
+    }
+    
+    private static GeneticAlgorithm newGa() {
+        GeneticAlgorithm ga = new GeneticAlgorithm(50, 0.1, 0.8, -Math.PI, Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(3);
+        return ga;
+    }
+}
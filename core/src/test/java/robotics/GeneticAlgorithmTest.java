@@ -0,0 +1,148 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class GeneticAlgorithmTest {
+    @Test
+    void rouletteSpinPicksSameMemberAsLinearScan() {
+        GeneticAlgorithm ga = newGa(GeneticAlgorithm.SelectionType.ROULETTE_WHEEL, 200);
+        Population population = randomFitness(200, 7);
+        ga.buildWheel(population);
+        
+        double max = 0;
+        for (int i = 0; i < population.size(); i++) {
+            max = Math.max(max, population.getFitness(i));
+        }
+        double total = 0;
+        for (int i = 0; i < population.size(); i++) {
+            total += max - population.getFitness(i) + 1.0;
+        }
+        SplittableRandom random = new SplittableRandom(8);
+        for (int draw = 0; draw < 10_000; draw++) {
+            double pointer = random.nextDouble() * total;
+            assertEquals(linearScan(population, max, pointer), ga.findOnWheel(pointer));
+        }
+    }
+    
+    @Test
+    void universalSamplingPicksEachMemberItsExpectedNumberOfTimes() {
+        int size = 97;
+        int count = 200;
+        GeneticAlgorithm ga = newGa(GeneticAlgorithm.SelectionType.STOCHASTIC_UNIVERSAL, size);
+        Population population = randomFitness(size, 9);
+        ga.buildWheel(population);
+        
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, population.getFitness(i));
+        }
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += max - population.getFitness(i) + 1.0;
+        }
+        for (int spin = 0; spin < 100; spin++) {
+            int[] picks = ga.sampleUniversal(count);
+            int[] times = new int[size];
+            for (int p = 0; p < count; p++) {
+                times[picks[p]]++;
+            }
+            for (int i = 0; i < size; i++) {
+                double expected = count * (max - population.getFitness(i) + 1.0) / total;
+                assertTrue(times[i] >= Math.floor(expected - 1e-9) && times[i] <= Math.ceil(expected + 1e-9),
+                    "member " + i + " picked " + times[i] + " times, expected " + expected);
+            }
+        }
+    }
+    
+    @Test
+    void seededRunsAreIdentical() {
+        for (GeneticAlgorithm.SelectionType selection : GeneticAlgorithm.SelectionType.values()) {
+            assertEquals(run(selection), run(selection), selection.name());
+        }
+    }
+    
+    @Test
+    void evolveKeepsTheBestMember() {
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.5, 1.0);
+        FitnessEvaluator evaluator = new FitnessEvaluator(2.0, 1.5);
+        for (GeneticAlgorithm.SelectionType selection : GeneticAlgorithm.SelectionType.values()) {
+            GeneticAlgorithm ga = newGa(selection, 50);
+            Population population = ga.createPopulation();
+            Population next = ga.createPopulation();
+            ga.initializePopulation(population);
+            evaluator.evaluate(population, target);
+            for (int generation = 0; generation < 20; generation++) {
+                double best = population.getFitness(population.getBestIndex());
+                ga.evolve(population, next);
+                evaluator.evaluate(next, target);
+                assertTrue(next.getFitness(next.getBestIndex()) <= best, selection.name());
+                Population swap = population;
+                population = next;
+                next = swap;
+            }
+        }
+    }
+    
+    @Test
+    void zeroBudgetReturnsTheBestOfTheInitialPopulation() {
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.5, 1.0);
+        InverseKinematicsController.SolutionResult result = new GeneticAlgorithmSolver(
+            newGa(GeneticAlgorithm.SelectionType.TOURNAMENT, 50)).solve(robot, target, 0, 1e-9);
+        double[] genes = result.bestIndividual.getGenes();
+        assertEquals(0, result.generations);
+        assertEquals(TerminationCriteria.MAX_GENERATIONS, result.terminatedBy);
+        assertTrue(result.bestIndividual.getFitness() < Double.MAX_VALUE);
+        assertEquals(robot.endEffectorDistance(genes[0], genes[1], target),
+            result.bestIndividual.getFitness(), 1e-9);
+    }
+    
+    private static double run(GeneticAlgorithm.SelectionType selection) {
+        GeneticAlgorithm ga = newGa(selection, 60);
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(-1.0, 2.5);
+        FitnessEvaluator evaluator = new FitnessEvaluator(2.0, 1.5);
+        Population population = ga.createPopulation();
+        Population next = ga.createPopulation();
+        ga.initializePopulation(population);
+        evaluator.evaluate(population, target);
+        for (int generation = 0; generation < 10; generation++) {
+            ga.evolve(population, next);
+            evaluator.evaluate(next, target);
+            Population swap = population;
+            population = next;
+            next = swap;
+        }
+        return population.getFitness(population.getBestIndex());
+    }
+    
+    private static int linearScan(Population population, double max, double pointer) {
+        double current = 0;
+        for (int i = 0; i < population.size(); i++) {
+            current += max - population.getFitness(i) + 1.0;
+            if (current >= pointer) {
+                return i;
+            }
+        }
+        return population.size() - 1;
+    }
+    
+    private static GeneticAlgorithm newGa(GeneticAlgorithm.SelectionType selection, int size) {
+        GeneticAlgorithm ga = new GeneticAlgorithm(size, 0.1, 0.8, -Math.PI, Math.PI, selection,
+            GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(42);
+        return ga;
+    }
+    
+    private static Population randomFitness(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Population population = new Population(size);
+        for (int i = 0; i < size; i++) {
+            population.setFitness(i, random.nextDouble(0, 5));
+        }
+        return population;
+    }
+}
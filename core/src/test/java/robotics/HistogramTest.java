@@ -0,0 +1,87 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+    private static final int BUCKETS = 488;
+    
+    @Test
+    void smallValuesGetABucketEach() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, Histogram.bucket(value));
+            assertEquals(value, Histogram.upperBound(value));
+        }
+        assertEquals(16, Histogram.bucket(16));
+        assertEquals(16, Histogram.bucket(17));
+        assertEquals(17, Histogram.bucket(18));
+    }
+    
+    @Test
+    void bucketEdgesAreContiguous() {
+        for (int bucket = 0; bucket < BUCKETS - 1; bucket++) {
+            long upper = Histogram.upperBound(bucket);
+            assertEquals(bucket, Histogram.bucket(upper), "upper bound of " + bucket);
+            assertEquals(bucket + 1, Histogram.bucket(upper + 1), "first value after " + bucket);
+        }
+        assertEquals(BUCKETS - 1, Histogram.bucket(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, Histogram.upperBound(BUCKETS - 1));
+    }
+    
+    @Test
+    void percentilesOfOneToHundred() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-12);
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(10, histogram.getPercentile(0.1));
+        // 50 shares the bucket 48..51, 99 the bucket 96..103 capped at the max.
+        assertEquals(51, histogram.getPercentile(0.5));
+        assertEquals(100, histogram.getPercentile(0.99));
+        assertEquals(100, histogram.getPercentile(1));
+    }
+    
+    @Test
+    void percentilesStayWithinAnEighthOfTheExactValue() {
+        SplittableRandom random = new SplittableRandom(11);
+        Histogram histogram = new Histogram();
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong(1, 1L << 40);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double p : new double[] {0.01, 0.25, 0.5, 0.9, 0.99, 0.999}) {
+            long exact = values[(int) Math.ceil(p * values.length) - 1];
+            long estimate = histogram.getPercentile(p);
+            assertTrue(estimate >= exact && estimate <= exact + exact / 8,
+                "p" + p + ": " + estimate + " for " + exact);
+        }
+    }
+    
+    @Test
+    void emptyAndNegativeAndReset() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertEquals(0, histogram.getMean(), 0);
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getPercentile(1));
+        histogram.record(1000);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(0.99));
+    }
+}
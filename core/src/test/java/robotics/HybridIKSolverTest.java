@@ -0,0 +1,49 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class HybridIKSolverTest {
+    private final RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+    private final RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.0, 2.5);
+    
+    @Test
+    void deadlineDuringSeedingSkipsRefinement() {
+        TerminationCriterion deadline = TerminationCriterion.deadline(Duration.ZERO);
+        HybridIKSolver solver = newSolver().withTermination(TerminationCriteria.of(deadline));
+        InverseKinematicsController.SolutionResult result = solver.solve(robot, target, 1000, 1e-12);
+        assertEquals(deadline.toString(), result.terminatedBy);
+        assertEquals(1, result.generations);
+    }
+    
+    @Test
+    void cancelledSeedingSkipsRefinement() {
+        HybridIKSolver solver = newSolver();
+        Thread.currentThread().interrupt();
+        InverseKinematicsController.SolutionResult result;
+        try {
+            result = solver.solve(robot, target, 1000, 1e-12);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertEquals(TerminationCriteria.CANCELLED, result.terminatedBy);
+        assertEquals(1, result.generations);
+    }
+    
+    @Test
+    void refinesAfterTheSeedBudget() {
+        InverseKinematicsController.SolutionResult result = newSolver().solve(robot, target, 1000, 1e-9);
+        assertEquals(TerminationCriteria.ERROR_THRESHOLD, result.terminatedBy);
+        assertTrue(result.bestIndividual.getFitness() < 1e-9);
+    }
+    
+    private static HybridIKSolver newSolver() {
+        GeneticAlgorithm ga = new GeneticAlgorithm(50, 0.1, 0.8, -Math.PI, Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(3);
+        return new HybridIKSolver(ga, 5);
+    }
+}
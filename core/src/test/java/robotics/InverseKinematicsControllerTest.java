@@ -0,0 +1,54 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class InverseKinematicsControllerTest {
+    private static final String OWN = "own criterion";
+    
+    private final RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+    private final RobotArm2D.Point2D unreachable = new RobotArm2D.Point2D(5, 5);
+    
+    @Test
+    void solverKeepsItsOwnCriteriaWhenAListenerIsAttached() {
+        TerminationCriteria own = TerminationCriteria.of(
+            TerminationCriterion.named(OWN, progress -> progress.getGenerations() >= 4));
+        InverseKinematicsController controller = new InverseKinematicsController(robot,
+            new GeneticAlgorithmSolver(newGa(), own));
+        AtomicInteger seen = new AtomicInteger();
+        controller.addProgressListener(progress -> seen.incrementAndGet());
+        controller.setTerminationCriteria(TerminationCriteria.of(
+            TerminationCriterion.named("controller", progress -> false)));
+        
+        InverseKinematicsController.SolutionResult result = controller.solve(unreachable, 1000, 1e-9);
+        assertEquals(OWN, result.terminatedBy);
+        assertEquals(4, result.generations);
+        assertEquals(4, seen.get());
+    }
+    
+    @Test
+    void solverKeepsItsReachabilityCheckAndHistoryRetention() {
+        InverseKinematicsController controller = new InverseKinematicsController(robot,
+            new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES)
+                .withTermination(TerminationCriteria.NONE.withReachabilityCheck()));
+        controller.addProgressListener(progress -> { });
+        assertEquals(TerminationCriteria.UNREACHABLE, controller.solve(unreachable, 1000, 1e-9).terminatedBy);
+        
+        controller.setSolver(new GeneticAlgorithmSolver(newGa(), TerminationCriteria.NONE, HistoryRetention.NONE));
+        InverseKinematicsController.SolutionResult result = controller.solve(unreachable, 10, 1e-9);
+        assertEquals(10, result.generations);
+        assertEquals(0, result.history.size());
+        
+        controller.setHistoryRetention(HistoryRetention.FULL);
+        assertEquals(10, controller.solve(unreachable, 10, 1e-9).history.size());
+    }
+    
+    private static GeneticAlgorithm newGa() {
+        GeneticAlgorithm ga = new GeneticAlgorithm(50, 0.1, 0.8, -Math.PI, Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(3);
+        return ga;
+    }
+}
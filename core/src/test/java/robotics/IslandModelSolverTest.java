@@ -0,0 +1,101 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class IslandModelSolverTest {
+    private final RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+    private final RobotArm2D.Point2D unreachable = new RobotArm2D.Point2D(5, 5);
+    
+    @Test
+    void interruptedSolveWaitsForItsIslands() throws InterruptedException {
+        try (IslandModelSolver solver = new IslandModelSolver(newGa(), 4, 10, 2,
+                IslandModelSolver.Topology.RING, 1)) {
+            AtomicReference<InverseKinematicsController.SolutionResult> result = new AtomicReference<>();
+            Thread worker = new Thread(() -> result.set(solver.solve(robot, unreachable, Integer.MAX_VALUE, 1e-9)));
+            worker.start();
+            Thread.sleep(200);
+            long start = System.nanoTime();
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertEquals(TerminationCriteria.CANCELLED, result.get().terminatedBy);
+            
+            int generations = 0;
+            for (IslandModelSolver.IslandStats stats : result.get().islands) {
+                generations += stats.generations;
+            }
+            assertTrue(generations > 0);
+            // A second solve on the same pool only starts once the islands
+            // of the first have all stopped.
+            assertEquals(1, solver.solve(robot, unreachable, 1, 1e-9).generations);
+        }
+    }
+    
+    @Test
+    void alreadyInterruptedSolveRunsNoGeneration() {
+        try (IslandModelSolver solver = new IslandModelSolver(newGa(), 2)) {
+            Thread.currentThread().interrupt();
+            InverseKinematicsController.SolutionResult result;
+            try {
+                result = solver.solve(robot, unreachable, 100, 1e-9);
+            } finally {
+                assertTrue(Thread.interrupted());
+            }
+            assertEquals(TerminationCriteria.CANCELLED, result.terminatedBy);
+            for (IslandModelSolver.IslandStats stats : result.islands) {
+                assertEquals(0, stats.generations);
+            }
+        }
+    }
+    
+    @Test
+    void copiesSolveReproduciblyFromTheirOwnStreams() throws InterruptedException {
+        try (IslandModelSolver solver = new IslandModelSolver(newGa(), 3, 5, 2,
+                IslandModelSolver.Topology.RANDOM, 1)) {
+            RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.0, 2.5);
+            double[] expected = solver.withSeed(9).withHistory(HistoryRetention.NONE)
+                .solve(robot, target, 40, 1e-12).bestIndividual.getGenes();
+            
+            IslandModelSolver seeded = solver.withSeed(9);
+            IslandModelSolver first = seeded.withHistory(HistoryRetention.NONE);
+            IslandModelSolver second = seeded.withHistory(HistoryRetention.NONE);
+            AtomicReference<double[]> concurrent = new AtomicReference<>();
+            Thread other = new Thread(() -> concurrent.set(
+                second.solve(robot, target, 40, 1e-12).bestIndividual.getGenes()));
+            other.start();
+            double[] genes = first.solve(robot, target, 40, 1e-12).bestIndividual.getGenes();
+            other.join();
+            assertArrayEquals(expected, genes);
+            IslandModelSolver again = solver.withSeed(9);
+            again.withHistory(HistoryRetention.NONE);
+            assertArrayEquals(again.withHistory(HistoryRetention.NONE)
+                .solve(robot, target, 40, 1e-12).bestIndividual.getGenes(), concurrent.get());
+        }
+    }
+    
+    @Test
+    void zeroBudgetReturnsTheBestOfTheInitialPopulations() {
+        try (IslandModelSolver solver = new IslandModelSolver(newGa(), 3)) {
+            RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.0, 2.5);
+            InverseKinematicsController.SolutionResult result = solver.solve(robot, target, 0, 1e-9);
+            double[] genes = result.bestIndividual.getGenes();
+            assertEquals(0, result.generations);
+            assertTrue(result.bestIndividual.getFitness() < Double.MAX_VALUE);
+            assertEquals(robot.endEffectorDistance(genes[0], genes[1], target),
+                result.bestIndividual.getFitness(), 1e-9);
+        }
+    }
+    
+    private static GeneticAlgorithm newGa() {
+        GeneticAlgorithm ga = new GeneticAlgorithm(200, 0.1, 0.8, -Math.PI, Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(3);
+        return ga;
+    }
+}
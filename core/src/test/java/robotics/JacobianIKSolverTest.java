@@ -0,0 +1,47 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class JacobianIKSolverTest {
+    private final RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+    // Straight out of reach along the stretched arm, where the Jacobian is singular.
+    private final RobotArm2D.Point2D unreachable = new RobotArm2D.Point2D(5.0, 0.0);
+    
+    @Test
+    void levenbergMarquardtStopsWhenMuHitsItsCap() {
+        JacobianIKSolver solver = new JacobianIKSolver(JacobianIKSolver.Method.LEVENBERG_MARQUARDT);
+        InverseKinematicsController.SolutionResult result = solver.solve(robot, unreachable, 1000, 1e-9, 0.0, 0.0);
+        assertEquals(TerminationCriteria.STALLED, result.terminatedBy);
+        assertFinite(result);
+        assertEquals(1.5, result.bestIndividual.getFitness(), 1e-12);
+    }
+    
+    @Test
+    void dampedLeastSquaresStaysFiniteAtSingularPoseWithoutDamping() {
+        JacobianIKSolver solver = new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES, 0.0,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        InverseKinematicsController.SolutionResult result = solver.solve(robot, unreachable, 100, 1e-9, 0.0, 0.0);
+        assertFinite(result);
+        assertTrue(result.bestIndividual.getFitness() <= 1.5 + 1e-12);
+    }
+    
+    @Test
+    void methodsStillConvergeOnReachableTarget() {
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.0, 2.5);
+        for (JacobianIKSolver.Method method : JacobianIKSolver.Method.values()) {
+            InverseKinematicsController.SolutionResult result = new JacobianIKSolver(method)
+                .solve(robot, target, 500, 1e-6, 0.3, 0.8);
+            assertEquals(TerminationCriteria.ERROR_THRESHOLD, result.terminatedBy, method.name());
+        }
+    }
+    
+    private static void assertFinite(InverseKinematicsController.SolutionResult result) {
+        for (double gene : result.bestIndividual.getGenes()) {
+            assertTrue(Double.isFinite(gene), result.bestIndividual.toString());
+        }
+        assertTrue(Double.isFinite(result.bestIndividual.getFitness()));
+    }
+}
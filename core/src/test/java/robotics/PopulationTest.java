@@ -0,0 +1,132 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class PopulationTest {
+    @Test
+    void storesGenesPerJoint() {
+        Population population = new Population(3, 3);
+        population.set(1, new double[]{0.1, 0.2, 0.3});
+        population.setGene(2, 1, 0.5);
+        assertEquals(0.1, population.getQ1(1));
+        assertEquals(0.2, population.getQ2(1));
+        assertEquals(0.3, population.getGene(1, 2));
+        assertEquals(0.5, population.getGene(2, 1));
+        assertEquals(Double.MAX_VALUE, population.getFitness(1));
+    }
+    
+    @Test
+    void singleJointPopulationHasNoQ2() {
+        Population population = new Population(2, 1);
+        population.setQ1(0, 0.5);
+        assertEquals(0.5, population.getQ1(0));
+        assertThrows(IllegalStateException.class, () -> population.getQ2(0));
+        assertThrows(IllegalStateException.class, () -> population.setQ2(0, 0.5));
+        assertThrows(IllegalStateException.class, () -> population.set(0, 0.5, 0.5));
+    }
+    
+    @Test
+    void roundTripsThroughIndividuals() {
+        Individual first = new Individual(0.25, -0.5);
+        first.setFitness(2.0);
+        Individual second = new Individual(1.0, 1.5);
+        second.setFitness(0.5);
+        List<Individual> individuals = Population.fromList(List.of(first, second)).toList();
+        assertArrayEquals(first.getGenes(), individuals.get(0).getGenes());
+        assertArrayEquals(second.getGenes(), individuals.get(1).getGenes());
+        assertEquals(2.0, individuals.get(0).getFitness());
+        assertEquals(0.5, individuals.get(1).getFitness());
+    }
+    
+    @Test
+    void changingAGeneInvalidatesFitnessAndBest() {
+        Population population = new Population(2);
+        population.set(0, 0, 0);
+        population.set(1, 1, 1);
+        new FitnessEvaluator(2.0, 1.5).evaluate(population, new RobotArm2D.Point2D(3.5, 0));
+        assertEquals(0, population.getBestIndex());
+        population.setQ1(1, 0);
+        population.setQ2(1, 0);
+        population.setFitness(0, 1.0);
+        assertEquals(Double.MAX_VALUE, population.getFitness(1));
+        assertEquals(0, population.getBestIndex());
+        population.setFitness(1, 0.5);
+        assertEquals(1, population.getBestIndex());
+    }
+    
+    @Test
+    void copyCarriesCachedChainPrefix() {
+        FitnessEvaluator evaluator = new FitnessEvaluator(1.0, 1.0, 1.0);
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(1, 1);
+        Population source = new Population(1, 3);
+        source.set(0, new double[]{0.3, -0.2, 0.7});
+        evaluator.evaluate(source, target);
+        Population copy = new Population(1, 3);
+        source.copy(0, copy, 0);
+        copy.setGene(0, 2, 0.1);
+        evaluator.evaluate(copy, target);
+        
+        SerialChain2D chain = new SerialChain2D(1.0, 1.0, 1.0);
+        chain.setJointAngles(0.3, -0.2, 0.1);
+        assertEquals(chain.getEndEffectorX(), copy.getX(0), 1e-12);
+        assertEquals(chain.getEndEffectorY(), copy.getY(0), 1e-12);
+    }
+    
+    @Test
+    void rankByFitnessSortsAscending() {
+        Population population = randomFitness(500, 4, 11);
+        int[] order = population.rankByFitness();
+        for (int i = 1; i < order.length; i++) {
+            assertTrue(population.getFitness(order[i - 1]) <= population.getFitness(order[i]));
+        }
+    }
+    
+    @Test
+    void selectBestMatchesFullSort() {
+        for (int seed = 0; seed < 50; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int size = 1 + random.nextInt(400);
+            // Few distinct values so ties and equal pivots are exercised.
+            Population population = randomFitness(size, random.nextInt(1, 20), seed);
+            double[] sorted = new double[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = population.getFitness(i);
+            }
+            Arrays.sort(sorted);
+            int count = random.nextInt(size + 1);
+            int[] best = population.selectBest(count);
+            double[] selected = new double[count];
+            for (int i = 0; i < count; i++) {
+                selected[i] = population.getFitness(best[i]);
+            }
+            assertArrayEquals(Arrays.copyOf(sorted, count), selected, "seed " + seed + ", count " + count);
+            assertEquals(size, Arrays.stream(best).distinct().count());
+        }
+    }
+    
+    @Test
+    void selectBestClampsCount() {
+        Population population = randomFitness(10, 10, 5);
+        assertEquals(10, population.selectBest(50).length);
+        assertEquals(population.getFitness(population.getBestIndex()),
+            population.getFitness(population.selectBest(1)[0]));
+        assertEquals(10, population.selectBest(-1).length);
+    }
+    
+    private static Population randomFitness(int size, int distinct, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Population population = new Population(size);
+        for (int i = 0; i < size; i++) {
+            population.setFitness(i, random.nextInt(distinct));
+        }
+        return population;
+    }
+}
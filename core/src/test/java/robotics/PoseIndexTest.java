@@ -0,0 +1,65 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class PoseIndexTest {
+    @Test
+    void indexesCallerAnglesAtTheirForwardKinematics() {
+        for (int dof = 1; dof <= 3; dof++) {
+            SerialChain2D chain = new SerialChain2D(Arrays.copyOf(new double[]{2.0, 1.5, 0.5}, dof));
+            SplittableRandom random = new SplittableRandom(dof);
+            int samples = 10_000;
+            double[][] angles = new double[dof][samples];
+            for (int k = 0; k < dof; k++) {
+                for (int i = 0; i < samples; i++) {
+                    angles[k][i] = random.nextDouble(-Math.PI, Math.PI);
+                }
+            }
+            PoseIndex index = PoseIndex.of(chain, angles);
+            assertEquals(samples, index.size());
+            double[] pose = new double[dof];
+            for (int i = 0; i < index.size(); i++) {
+                for (int k = 0; k < dof; k++) {
+                    pose[k] = index.getGene(i, k);
+                }
+                chain.setJointAngles(pose);
+                assertEquals(chain.getEndEffectorX(), index.getX(i), 1e-5);
+                assertEquals(chain.getEndEffectorY(), index.getY(i), 1e-5);
+            }
+        }
+    }
+    
+    @Test
+    void nearestMatchesFullScan() {
+        PoseIndex index = PoseIndex.sample(new RobotArm2D(2.0, 1.5), 5000, -Math.PI, Math.PI, 7);
+        SplittableRandom random = new SplittableRandom(8);
+        int[] nearest = new int[5];
+        for (int query = 0; query < 200; query++) {
+            double qx = random.nextDouble(-4, 4);
+            double qy = random.nextDouble(-4, 4);
+            assertEquals(nearest.length, index.nearest(qx, qy, nearest));
+            double[] distances = new double[index.size()];
+            for (int i = 0; i < index.size(); i++) {
+                distances[i] = Math.hypot(index.getX(i) - qx, index.getY(i) - qy);
+            }
+            Arrays.sort(distances);
+            for (int i = 0; i < nearest.length; i++) {
+                double distance = Math.hypot(index.getX(nearest[i]) - qx, index.getY(nearest[i]) - qy);
+                assertEquals(distances[i], distance, 1e-12);
+            }
+        }
+    }
+    
+    @Test
+    void rejectsAnglesThatDoNotFitTheChain() {
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        assertThrows(IllegalArgumentException.class, () -> PoseIndex.of(robot, new double[1][4]));
+        assertThrows(IllegalArgumentException.class,
+            () -> PoseIndex.of(robot, new double[][]{new double[4], new double[3]}));
+    }
+}
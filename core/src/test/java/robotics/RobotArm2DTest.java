@@ -0,0 +1,93 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class RobotArm2DTest {
+    private static final int POSES = 200_000;
+    
+    @Test
+    void closedFormMatchesMatrixChainWithinTolerance() {
+        SplittableRandom random = new SplittableRandom(1);
+        RobotArm2D robot = new RobotArm2D(1, 1);
+        double[] positions = new double[4];
+        for (int i = 0; i < POSES; i++) {
+            robot.setA1(random.nextDouble(1e-3, 1e3));
+            robot.setA2(random.nextDouble(1e-3, 1e3));
+            robot.setJointAngles(random.nextDouble(-Math.PI, Math.PI), random.nextDouble(-Math.PI, Math.PI));
+            robot.getPositions(positions);
+            RobotArm2D.Point2D joint2 = robot.getJoint2PositionReference();
+            RobotArm2D.Point2D endEffector = robot.getEndEffectorPositionReference();
+            assertEquals(joint2.x, positions[0], RobotArm2D.FK_TOLERANCE);
+            assertEquals(joint2.y, positions[1], RobotArm2D.FK_TOLERANCE);
+            assertEquals(endEffector.x, positions[2], RobotArm2D.FK_TOLERANCE);
+            assertEquals(endEffector.y, positions[3], RobotArm2D.FK_TOLERANCE);
+        }
+    }
+    
+    @Test
+    void cachedPositionsFollowSingleJointChanges() {
+        SplittableRandom random = new SplittableRandom(2);
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        for (int i = 0; i < 1000; i++) {
+            if (random.nextBoolean()) {
+                robot.setJointAngle(0, random.nextDouble(-Math.PI, Math.PI));
+            } else {
+                robot.setJointAngle(1, random.nextDouble(-Math.PI, Math.PI));
+            }
+            RobotArm2D.Point2D reference = robot.getEndEffectorPositionReference();
+            assertEquals(reference.x, robot.getEndEffectorX(), RobotArm2D.FK_TOLERANCE);
+            assertEquals(reference.y, robot.getEndEffectorY(), RobotArm2D.FK_TOLERANCE);
+        }
+    }
+    
+    @Test
+    void batchFkMatchesSinglePose() {
+        SplittableRandom random = new SplittableRandom(3);
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        int n = 1001;
+        double[] q1 = new double[n];
+        double[] q2 = new double[n];
+        for (int i = 0; i < n; i++) {
+            q1[i] = random.nextDouble(-Math.PI, Math.PI);
+            q2[i] = random.nextDouble(-Math.PI, Math.PI);
+        }
+        double[] x = new double[n];
+        double[] y = new double[n];
+        robot.fk(q1, q2, x, y, n);
+        double[] single = new double[4];
+        for (int i = 0; i < n; i++) {
+            robot.forwardKinematics(q1[i], q2[i], single);
+            assertEquals(single[2], x[i], RobotArm2D.FK_TOLERANCE);
+            assertEquals(single[3], y[i], RobotArm2D.FK_TOLERANCE);
+        }
+    }
+    
+    @Test
+    void vectorKernelMatchesScalarKernel() {
+        assumeTrue(RobotArm2D.isVectorFk(), "jdk.incubator.vector is not available");
+        SplittableRandom random = new SplittableRandom(4);
+        // Odd length and offset so both the vector loop and the tail run.
+        int n = 1003;
+        double[] q1 = new double[n];
+        double[] q2 = new double[n];
+        for (int i = 0; i < n; i++) {
+            q1[i] = random.nextDouble(-4 * Math.PI, 4 * Math.PI);
+            q2[i] = random.nextDouble(-4 * Math.PI, 4 * Math.PI);
+        }
+        double[] vectorX = new double[n];
+        double[] vectorY = new double[n];
+        double[] scalarX = new double[n];
+        double[] scalarY = new double[n];
+        VectorFk.fk(2.0, 1.5, q1, q2, vectorX, vectorY, 3, n);
+        RobotArm2D.fkScalar(2.0, 1.5, q1, q2, scalarX, scalarY, 3, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(scalarX[i], vectorX[i], RobotArm2D.FK_TOLERANCE);
+            assertEquals(scalarY[i], vectorY[i], RobotArm2D.FK_TOLERANCE);
+        }
+        assertEquals(0.0, vectorX[2]);
+    }
+}
@@ -0,0 +1,146 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunLogTest {
+    @TempDir
+    Path dir;
+    
+    @Test
+    void recordsRoundTripAcrossBlocks() throws IOException {
+        Path path = dir.resolve("run.log");
+        int records = 10;
+        try (RunLogWriter writer = RunLogWriter.create(path, 3, false, 3)) {
+            for (int solve = 0; solve < 2; solve++) {
+                assertEquals(solve, writer.beginSolve(new RobotArm2D.Point2D(solve, -solve)).getSolve());
+                for (int generation = 0; generation < records; generation++) {
+                    writer.record(solve, generation, genes(solve, generation), generation + 0.5,
+                        generation - 0.5, 1.0 / (generation + 1));
+                }
+            }
+        }
+        
+        try (RunLogReader reader = RunLogReader.open(path)) {
+            assertEquals(3, reader.getDof());
+            assertEquals(2, reader.getSolveCount());
+            assertEquals(2 * records, reader.getGenerationCount());
+            assertEquals(0, reader.getPopulationCount());
+            assertEquals(1.0, reader.getTarget(1).x);
+            assertEquals(-1.0, reader.getTarget(1).y);
+            int[] next = new int[1];
+            reader.forEachGeneration(1, (solve, generation, genes, x, y, error) -> {
+                assertEquals(1, solve);
+                assertEquals(next[0]++, generation);
+                assertArrayEquals(genes(solve, generation), genes);
+                assertEquals(generation + 0.5, x);
+                assertEquals(generation - 0.5, y);
+                assertEquals(1.0 / (generation + 1), error);
+            });
+            assertEquals(records, next[0]);
+        }
+    }
+    
+    @Test
+    void logsEveryGenerationAndPopulationOfASolve() throws IOException {
+        Path path = dir.resolve("populations.log");
+        GeneticAlgorithm ga = new GeneticAlgorithm(30, 0.1, 0.8, -Math.PI, Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(7);
+        InverseKinematicsController controller = new InverseKinematicsController(new RobotArm2D(2.0, 1.5), ga);
+        InverseKinematicsController.SolutionResult result;
+        try (RunLogWriter writer = RunLogWriter.create(path, 2, true)) {
+            controller.setRunLog(writer);
+            result = controller.solve(new RobotArm2D.Point2D(5, 5), 25, 1e-9);
+        }
+        
+        try (RunLogReader reader = RunLogReader.open(path)) {
+            assertEquals(result.generations, reader.getGenerationCount());
+            assertEquals(result.generations, reader.getPopulationCount());
+            List<Double> errors = new ArrayList<>();
+            reader.forEachGeneration((solve, generation, genes, x, y, error) -> errors.add(error));
+            assertEquals(result.history.getError(result.history.size() - 1), errors.get(errors.size() - 1));
+            int[] sizes = new int[1];
+            reader.forEachPopulation(0, (solve, generation, population) -> sizes[0] += population.size());
+            assertEquals(30 * result.generations, sizes[0]);
+        }
+    }
+    
+    @Test
+    void ignoresATruncatedLastBlock() throws IOException {
+        Path path = dir.resolve("cut.log");
+        try (RunLogWriter writer = RunLogWriter.create(path, 2, false, 4)) {
+            writer.beginSolve(new RobotArm2D.Point2D(1, 1));
+            for (int generation = 0; generation < 8; generation++) {
+                writer.record(0, generation, new double[]{0, 0}, 0, 0, 0);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        try (RunLogReader reader = RunLogReader.open(path)) {
+            assertEquals(1, reader.getSolveCount());
+            assertEquals(4, reader.getGenerationCount());
+        }
+    }
+    
+    @Test
+    void replayRejectsALogOfAnotherChain() throws IOException {
+        Path path = dir.resolve("three.log");
+        try (RunLogWriter writer = RunLogWriter.create(path, 3, false)) {
+            writer.beginSolve(new RobotArm2D.Point2D(1, 1));
+            writer.record(0, 0, genes(0, 0), 0, 0, 1);
+            InverseKinematicsController controller = new InverseKinematicsController(new RobotArm2D(2.0, 1.5),
+                new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES));
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> controller.setRunLog(writer));
+            assertTrue(ex.getMessage().contains("3-joint"), ex.getMessage());
+        }
+        
+        try (RunLogReader reader = RunLogReader.open(path)) {
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> reader.replay(0, point -> { }));
+            assertTrue(ex.getMessage().contains("3-joint"), ex.getMessage());
+        }
+    }
+    
+    @Test
+    void replayRejectsAMissingSolve() throws IOException {
+        Path path = dir.resolve("two.log");
+        try (RunLogWriter writer = RunLogWriter.create(path, 2, false)) {
+            writer.beginSolve(new RobotArm2D.Point2D(1, 1));
+            writer.record(0, 0, new double[]{0.1, 0.2}, 0, 0, 1);
+        }
+        
+        try (RunLogReader reader = RunLogReader.open(path)) {
+            List<TrajectoryTracker.TrajectoryPoint> points = new ArrayList<>();
+            assertEquals(1, reader.replay(0, points::add));
+            assertEquals(0.2, points.get(0).q2);
+            assertThrows(IllegalArgumentException.class, () -> reader.replay(1, points::add));
+            assertThrows(IllegalArgumentException.class, () -> reader.replay(-1, points::add));
+        }
+    }
+    
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = dir.resolve("other.bin");
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> RunLogReader.open(path));
+    }
+    
+    private static double[] genes(int solve, int generation) {
+        return new double[]{solve, generation, solve * 100.0 + generation};
+    }
+}
@@ -0,0 +1,116 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class SolutionCacheTest {
+    private static final double MIN = -Math.PI;
+    private static final double MAX = Math.PI;
+    
+    private final RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+    
+    @Test
+    void nearestMatchesAFullScan() {
+        SolutionCache cache = new SolutionCache(10_000, 1e-3, 4, 0.2, 0.05);
+        SplittableRandom random = new SplittableRandom(1);
+        int n = 500;
+        double[][] targets = new double[n][];
+        for (int i = 0; i < n; i++) {
+            double q1 = random.nextDouble(-Math.PI, Math.PI);
+            double q2 = random.nextDouble(-Math.PI, Math.PI);
+            targets[i] = put(cache, q1, q2);
+        }
+        for (int query = 0; query < 200; query++) {
+            RobotArm2D.Point2D target = new RobotArm2D.Point2D(random.nextDouble(-5, 5), random.nextDouble(-5, 5));
+            double[] expected = new double[n];
+            for (int i = 0; i < n; i++) {
+                expected[i] = Math.hypot(targets[i][0] - target.x, targets[i][1] - target.y);
+            }
+            Arrays.sort(expected);
+            Population seeds = cache.nearest(robot, MIN, MAX, target);
+            assertEquals(4, seeds.size());
+            double[] positions = new double[4];
+            for (int i = 0; i < 4; i++) {
+                robot.forwardKinematics(seeds.getQ1(i), seeds.getQ2(i), positions);
+                assertEquals(expected[i], Math.hypot(positions[2] - target.x, positions[3] - target.y), 1e-9);
+            }
+        }
+    }
+    
+    @Test
+    void nearestOnlyUsesTheSameArm() {
+        SolutionCache cache = new SolutionCache(100);
+        put(cache, 0.3, 0.4);
+        assertNull(cache.nearest(new RobotArm2D(1.0, 1.0), MIN, MAX, new RobotArm2D.Point2D(1, 1)));
+        assertNotNull(cache.nearest(robot, MIN, MAX, new RobotArm2D.Point2D(-3, -3)));
+    }
+    
+    @Test
+    void hitsReturnTheCachedPose() {
+        SolutionCache cache = new SolutionCache(100);
+        double[] target = put(cache, 0.3, 0.4);
+        Individual hit = cache.lookup(robot, MIN, MAX, new RobotArm2D.Point2D(target[0], target[1]), 1e-6);
+        assertEquals(0.3, hit.getQ1());
+        assertEquals(0.4, hit.getQ2());
+        assertNull(cache.lookup(robot, MIN, MAX, new RobotArm2D.Point2D(target[0] + 0.1, target[1]), 1e-6));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+    
+    @Test
+    void evictsTheLeastRecentlyUsed() throws InterruptedException {
+        SolutionCache cache = new SolutionCache(32);
+        double[][] targets = new double[32][];
+        for (int i = 0; i < 32; i++) {
+            targets[i] = put(cache, 0.05 * i, 0.5);
+        }
+        Thread.sleep(1);
+        RobotArm2D.Point2D kept = new RobotArm2D.Point2D(targets[0][0], targets[0][1]);
+        assertNotNull(cache.lookup(robot, MIN, MAX, kept, 1e-6));
+        put(cache, 2.5, 0.5);
+        assertTrue(cache.size() <= 32);
+        assertEquals(33 - cache.size(), cache.getEvictions());
+        assertNotNull(cache.lookup(robot, MIN, MAX, kept, 1e-6));
+        assertNull(cache.lookup(robot, MIN, MAX, new RobotArm2D.Point2D(targets[1][0], targets[1][1]), 1e-6));
+    }
+    
+    @Test
+    void posesAreOnlyReusedUnderTheSameJointLimits() {
+        SolutionCache cache = new SolutionCache(100);
+        double[] target = put(cache, 2.0, 0.4);
+        RobotArm2D.Point2D point = new RobotArm2D.Point2D(target[0], target[1]);
+        assertNotNull(cache.lookup(robot, MIN, MAX, point, 1e-6));
+        assertNull(cache.lookup(robot, -1.0, 1.0, point, 1e-6));
+        assertNull(cache.nearest(robot, -1.0, 1.0, point));
+        assertNotNull(cache.nearest(robot, MIN, MAX, point));
+    }
+    
+    @Test
+    void controllerDoesNotServeAPoseOutsideTheSolversLimits() {
+        SolutionCache cache = new SolutionCache(100);
+        double[] position = put(cache, 2.0, 0.4);
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(position[0], position[1]);
+        InverseKinematicsController controller = new InverseKinematicsController(robot,
+            new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES, 0.1, -1.0, 1.0));
+        controller.setSolutionCache(cache);
+        InverseKinematicsController.SolutionResult result = controller.solve(target, 50, 1e-6);
+        assertNotEquals(TerminationCriteria.CACHE_HIT, result.terminatedBy);
+        for (double gene : result.bestIndividual.getGenes()) {
+            assertTrue(gene >= -1.0 && gene <= 1.0, "gene " + gene);
+        }
+    }
+    
+    private double[] put(SolutionCache cache, double q1, double q2) {
+        double[] positions = new double[4];
+        robot.forwardKinematics(q1, q2, positions);
+        cache.put(robot, MIN, MAX, new RobotArm2D.Point2D(positions[2], positions[3]), new Individual(q1, q2));
+        return new double[]{positions[2], positions[3]};
+    }
+}
@@ -0,0 +1,69 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SolverMetricsTest {
+    private static final int POPULATION = 50;
+    
+    private final RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+    private final RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.5, 1.0);
+    private boolean wasEnabled;
+    
+    @BeforeEach
+    void resetMetrics() {
+        wasEnabled = SolverMetrics.isEnabled();
+        SolverMetrics.reset();
+    }
+    
+    @AfterEach
+    void restoreMetrics() {
+        SolverMetrics.setEnabled(wasEnabled);
+        SolverMetrics.reset();
+    }
+    
+    @Test
+    void disabledMetricsRecordNothing() {
+        SolverMetrics.setEnabled(false);
+        assertEquals(0, SolverMetrics.start());
+        SolverMetrics.stop(SolverMetrics.Phase.EVALUATE, SolverMetrics.start(), POPULATION);
+        newController().solve(target, 20, 1e-12);
+        
+        for (SolverMetrics.Phase phase : SolverMetrics.Phase.values()) {
+            assertEquals(0, SolverMetrics.getHistogram(phase).getCount(), phase.name());
+        }
+        assertEquals(0, SolverMetrics.getGenerations().getCount());
+        assertEquals(0, SolverMetrics.getAllocatedBytes().getCount());
+        assertEquals(0, SolverMetrics.getFkEvaluations());
+        assertEquals(0, SolverMetrics.getFkEvaluationsPerSecond(), 0);
+    }
+    
+    @Test
+    void enabledMetricsTimeEachPhaseOncePerCall() {
+        SolverMetrics.setEnabled(true);
+        InverseKinematicsController.SolutionResult result = newController().solve(target, 20, 1e-12);
+        
+        assertEquals(1, SolverMetrics.getHistogram(SolverMetrics.Phase.SOLVE).getCount());
+        assertEquals(1, SolverMetrics.getGenerations().getCount());
+        assertEquals(result.generations, SolverMetrics.getGenerations().getSum());
+        long passes = SolverMetrics.getHistogram(SolverMetrics.Phase.EVALUATE).getCount();
+        assertTrue(passes >= result.generations);
+        assertEquals(passes * POPULATION, SolverMetrics.getFkEvaluations());
+        assertTrue(SolverMetrics.getHistogram(SolverMetrics.Phase.EVOLVE).getCount() > 0);
+        
+        SolverMetrics.reset();
+        assertEquals(0, SolverMetrics.getHistogram(SolverMetrics.Phase.SOLVE).getCount());
+        assertEquals(0, SolverMetrics.getFkEvaluations());
+    }
+    
+    private InverseKinematicsController newController() {
+        GeneticAlgorithm ga = new GeneticAlgorithm(POPULATION, 0.1, 0.8, -Math.PI, Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM);
+        ga.setSeed(5);
+        return new InverseKinematicsController(robot, new GeneticAlgorithmSolver(ga));
+    }
+}
@@ -0,0 +1,117 @@
+package robotics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WorkspaceGridTest {
+    private static final int RESOLUTION = 64;
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void fileHasTheDocumentedLayout() throws IOException {
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        Path path = dir.resolve("grid.bin");
+        WorkspaceGrid.build(robot, RESOLUTION, -3.0, 3.0, ForkJoinPool.commonPool()).save(path);
+        
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(WorkspaceGrid.HEADER_BYTES + RESOLUTION * RESOLUTION * WorkspaceGrid.CELL_BYTES, file.capacity());
+        assertEquals(WorkspaceGrid.MAGIC, file.getInt(0));
+        assertEquals(WorkspaceGrid.VERSION, file.getInt(4));
+        assertEquals(RESOLUTION, file.getInt(8));
+        assertEquals(2.0, file.getDouble(16));
+        assertEquals(1.5, file.getDouble(24));
+        assertEquals(-3.0, file.getDouble(32));
+        assertEquals(3.0, file.getDouble(40));
+    }
+    
+    @Test
+    void loadedGridAnswersLikeTheBuiltOne() throws IOException {
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        WorkspaceGrid built = WorkspaceGrid.build(robot, RESOLUTION);
+        Path path = dir.resolve("grid.bin");
+        built.save(path);
+        WorkspaceGrid loaded = WorkspaceGrid.load(path);
+        
+        assertEquals(RESOLUTION, loaded.getResolution());
+        assertTrue(loaded.matches(robot, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+        assertFalse(loaded.matches(new RobotArm2D(2.0, 1.0), Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+        double[] expected = new double[2];
+        double[] actual = new double[2];
+        for (double x = -3.6; x <= 3.6; x += 0.1) {
+            for (double y = -3.6; y <= 3.6; y += 0.1) {
+                RobotArm2D.Point2D target = new RobotArm2D.Point2D(x, y);
+                assertEquals(built.isReachable(target), loaded.isReachable(target));
+                for (AnalyticIKSolver.Branch branch : AnalyticIKSolver.Branch.values()) {
+                    boolean found = built.lookup(target, branch, expected);
+                    assertEquals(found, loaded.lookup(target, branch, actual));
+                    if (found) {
+                        assertTrue(Arrays.equals(expected, actual));
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test
+    void savingOverAMappedFileLeavesTheMappingReadable() throws IOException {
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        Path path = dir.resolve("grid.bin");
+        WorkspaceGrid.build(robot, RESOLUTION).save(path);
+        WorkspaceGrid mapped = WorkspaceGrid.load(path);
+        mapped.save(path);
+        WorkspaceGrid.build(robot, 8).save(path);
+        
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(1.0, 2.5);
+        double[] pose = new double[2];
+        assertEquals(RESOLUTION, mapped.getResolution());
+        assertTrue(mapped.lookup(target, AnalyticIKSolver.Branch.ELBOW_UP, pose));
+        assertEquals(8, WorkspaceGrid.load(path).getResolution());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+    
+    @Test
+    void storedPosesReachTheirCell() {
+        RobotArm2D robot = new RobotArm2D(2.0, 1.5);
+        WorkspaceGrid grid = WorkspaceGrid.build(robot, RESOLUTION);
+        double[] pose = new double[2];
+        double[] positions = new double[4];
+        // Poses are stored as floats for the cell centre, so they land within
+        // half a cell diagonal of any target in the cell, plus rounding.
+        double tolerance = grid.getCellSize() * Math.sqrt(0.5) + 1e-5;
+        for (double x = -3.4; x <= 3.4; x += 0.17) {
+            for (double y = -3.4; y <= 3.4; y += 0.17) {
+                RobotArm2D.Point2D target = new RobotArm2D.Point2D(x, y);
+                if (grid.lookup(target, AnalyticIKSolver.Branch.ELBOW_UP, pose)) {
+                    robot.forwardKinematics(pose[0], pose[1], positions);
+                    assertTrue(Math.hypot(positions[2] - x, positions[3] - y) <= tolerance, target.toString());
+                }
+            }
+        }
+    }
+    
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Path path = dir.resolve("grid.bin");
+        WorkspaceGrid.build(new RobotArm2D(2.0, 1.5), 8).save(path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> WorkspaceGrid.load(path));
+    }
+}
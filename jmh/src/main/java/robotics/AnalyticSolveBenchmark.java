@@ -0,0 +1,31 @@
+package robotics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The closed-form controller solve, as the floor for {@link SolveBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AnalyticSolveBenchmark {
+    private final InverseKinematicsController controller =
+        new InverseKinematicsController(BenchmarkFixtures.newArm(), new AnalyticIKSolver());
+    
+    @Benchmark
+    public InverseKinematicsController.SolutionResult reachable() {
+        return controller.solve(BenchmarkFixtures.REACHABLE, 200, 0.01);
+    }
+}
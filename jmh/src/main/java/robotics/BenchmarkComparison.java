@@ -0,0 +1,90 @@
+package robotics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prints the change of every primary score in a JMH JSON result file
+ * against a baseline file written the same way:
+ * <pre>
+ * java -cp target/benchmarks.jar robotics.BenchmarkComparison baseline.json results.json
+ * </pre>
+ * Reads the pretty-printed layout JMH writes with {@code -rf json}, one
+ * key per line, so it needs no JSON library.
+ */
+public final class BenchmarkComparison {
+    private static final Pattern STRING = Pattern.compile("^\\s*\"([^\"]+)\"\\s*:\\s*\"([^\"]*)\"");
+    private static final Pattern NUMBER = Pattern.compile("^\\s*\"score\"\\s*:\\s*([0-9.Ee+-]+|\"NaN\")");
+    
+    private BenchmarkComparison() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <results.json>");
+            System.exit(2);
+        }
+        Map<String, Double> baseline = scores(Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8));
+        Map<String, Double> current = scores(Files.readAllLines(Paths.get(args[1]), StandardCharsets.UTF_8));
+        System.out.println("Score change against " + args[0]
+            + " (higher is better for thrpt, lower for sample/avgt)");
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double previous = baseline.get(entry.getKey());
+            if (previous != null && previous != 0) {
+                System.out.printf("  %-90s %+8.1f%%%n", entry.getKey(), (entry.getValue() / previous - 1) * 100);
+            }
+        }
+    }
+    
+    /**
+     * Primary score of each run keyed by benchmark, mode and parameters.
+     */
+    static Map<String, Double> scores(List<String> lines) {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        String benchmark = null;
+        String mode = null;
+        StringBuilder params = new StringBuilder();
+        boolean inParams = false;
+        boolean inPrimary = false;
+        for (String line : lines) {
+            String trimmed = line.trim();
+            Matcher string = STRING.matcher(line);
+            if (trimmed.startsWith("\"params\"")) {
+                inParams = true;
+                params.setLength(0);
+            } else if (inParams) {
+                if (trimmed.startsWith("}")) {
+                    inParams = false;
+                } else if (string.find()) {
+                    params.append(params.length() == 0 ? "" : ",").append(string.group(1)).append('=')
+                        .append(string.group(2));
+                }
+            } else if (trimmed.startsWith("\"primaryMetric\"")) {
+                inPrimary = true;
+            } else if (inPrimary) {
+                Matcher number = NUMBER.matcher(line);
+                if (number.find()) {
+                    inPrimary = false;
+                    if (!number.group(1).startsWith("\"")) {
+                        scores.put(benchmark + " " + mode + " " + params, Double.parseDouble(number.group(1)));
+                    }
+                }
+            } else if (string.find()) {
+                if (string.group(1).equals("benchmark")) {
+                    benchmark = string.group(2);
+                    params.setLength(0);
+                } else if (string.group(1).equals("mode")) {
+                    mode = string.group(2);
+                }
+            }
+        }
+        return scores;
+    }
+}
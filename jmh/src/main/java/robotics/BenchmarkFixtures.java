@@ -0,0 +1,25 @@
+package robotics;
+
+/**
+ * Shared setup for the JMH benchmarks: the arm, targets and GA settings the
+ * old hand-timed harness used, so results stay comparable.
+ */
+final class BenchmarkFixtures {
+    static final RobotArm2D.Point2D TARGET = new RobotArm2D.Point2D(1.5, 1.0);
+    static final RobotArm2D.Point2D REACHABLE = new RobotArm2D.Point2D(-1.0, 2.5);
+    static final RobotArm2D.Point2D UNREACHABLE = new RobotArm2D.Point2D(5.0, 5.0);
+    
+    private BenchmarkFixtures() {
+    }
+    
+    static RobotArm2D newArm() {
+        return new RobotArm2D(2.0, 1.5);
+    }
+    
+    static GeneticAlgorithm newGa(int size, GeneticAlgorithm.SelectionType selection,
+                                  GeneticAlgorithm.CrossoverType crossover) {
+        GeneticAlgorithm ga = new GeneticAlgorithm(size, 0.1, 0.8, -Math.PI, Math.PI, selection, crossover);
+        ga.setSeed(42);
+        return ga;
+    }
+}
@@ -0,0 +1,72 @@
+package robotics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Taking the best tenth of a population by full sort against partial
+ * selection, and finding the best member by a scan after evaluation against
+ * tracking it during evaluation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EliteSelectionBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int population;
+    
+    private final FitnessEvaluator evaluator = FitnessEvaluator.of(BenchmarkFixtures.newArm());
+    private Population individuals;
+    private int elites;
+    
+    @Setup
+    public void setUp() {
+        GeneticAlgorithm ga = BenchmarkFixtures.newGa(population, GeneticAlgorithm.SelectionType.TOURNAMENT,
+            GeneticAlgorithm.CrossoverType.UNIFORM);
+        individuals = ga.createPopulation();
+        ga.initializePopulation(individuals);
+        evaluator.evaluate(individuals, BenchmarkFixtures.TARGET);
+        elites = Math.max(1, population / 10);
+    }
+    
+    @Benchmark
+    public int[] fullSort() {
+        return individuals.rankByFitness();
+    }
+    
+    @Benchmark
+    public int[] partial() {
+        return individuals.selectBest(elites);
+    }
+    
+    @Benchmark
+    public int scanAfterEvaluate() {
+        evaluator.evaluate(individuals, BenchmarkFixtures.TARGET);
+        int best = 0;
+        for (int i = 1; i < population; i++) {
+            if (individuals.getFitness(i) < individuals.getFitness(best)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+    
+    @Benchmark
+    public int trackedInEvaluate() {
+        evaluator.evaluate(individuals, BenchmarkFixtures.TARGET);
+        return individuals.getBestIndex();
+    }
+}
@@ -0,0 +1,53 @@
+package robotics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One fitness pass over a whole population, on the calling thread and
+ * split over the common pool. Each operation evaluates the population once.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FitnessBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int population;
+    
+    private final FitnessEvaluator evaluator = FitnessEvaluator.of(BenchmarkFixtures.newArm());
+    private Population individuals;
+    
+    @Setup
+    public void setUp() {
+        GeneticAlgorithm ga = BenchmarkFixtures.newGa(population, GeneticAlgorithm.SelectionType.TOURNAMENT,
+            GeneticAlgorithm.CrossoverType.UNIFORM);
+        individuals = ga.createPopulation();
+        ga.initializePopulation(individuals);
+    }
+    
+    @Benchmark
+    public int sequential() {
+        evaluator.evaluate(individuals, BenchmarkFixtures.TARGET);
+        return individuals.getBestIndex();
+    }
+    
+    @Benchmark
+    public int parallel() {
+        evaluator.evaluate(individuals, BenchmarkFixtures.TARGET, ForkJoinPool.commonPool(), 4096);
+        return individuals.getBestIndex();
+    }
+}
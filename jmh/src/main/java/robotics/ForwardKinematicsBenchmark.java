@@ -0,0 +1,90 @@
+package robotics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Forward kinematics of one pose through the closed form and through the
+ * Matrix3x3 reference, batch FK over arrays of poses, and a bare
+ * Matrix3x3.multiply. The batch kernels are also run on their own: the
+ * scalar loop and the jdk.incubator.vector kernel, which the fork enables
+ * with --add-modules.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ForwardKinematicsBenchmark {
+    private static final int POSES = 4096;
+    
+    private final RobotArm2D robot = BenchmarkFixtures.newArm();
+    private final double[] q1 = new double[POSES];
+    private final double[] q2 = new double[POSES];
+    private final double[] outX = new double[POSES];
+    private final double[] outY = new double[POSES];
+    private final Matrix3x3 left = new Matrix3x3(0.6, -0.8, 2.0, 0.8, 0.6, 1.0, 0, 0, 1);
+    private final Matrix3x3 right = new Matrix3x3(0.0, -1.0, 1.5, 1.0, 0.0, 0.5, 0, 0, 1);
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < POSES; i++) {
+            q1[i] = random.nextDouble(-Math.PI, Math.PI);
+            q2[i] = random.nextDouble(-Math.PI, Math.PI);
+        }
+    }
+    
+    @Benchmark
+    public RobotArm2D.Point2D matrixReference() {
+        int i = next++ & (POSES - 1);
+        robot.setJointAngles(q1[i], q2[i]);
+        return robot.getEndEffectorPositionReference();
+    }
+    
+    @Benchmark
+    public RobotArm2D.Point2D singlePose() {
+        int i = next++ & (POSES - 1);
+        robot.setJointAngles(q1[i], q2[i]);
+        return robot.getEndEffectorPosition();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(POSES)
+    public double[] batch() {
+        robot.fk(q1, q2, outX, outY, POSES);
+        return outX;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(POSES)
+    public double[] batchScalar() {
+        RobotArm2D.fkScalar(robot.getA1(), robot.getA2(), q1, q2, outX, outY, 0, POSES);
+        return outX;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(POSES)
+    public double[] batchVector() {
+        VectorFk.fk(robot.getA1(), robot.getA2(), q1, q2, outX, outY, 0, POSES);
+        return outX;
+    }
+    
+    @Benchmark
+    public Matrix3x3 matrixMultiply() {
+        return left.multiply(right);
+    }
+}
@@ -0,0 +1,71 @@
+package robotics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One GA generation, an evolve step followed by a fitness pass, on the
+ * double-buffered Population and on the older List of Individuals.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int population;
+    
+    @Param({"TOURNAMENT", "ROULETTE_WHEEL", "STOCHASTIC_UNIVERSAL"})
+    public GeneticAlgorithm.SelectionType selection;
+    
+    @Param({"SINGLE_POINT", "UNIFORM"})
+    public GeneticAlgorithm.CrossoverType crossover;
+    
+    private final RobotArm2D robot = BenchmarkFixtures.newArm();
+    private GeneticAlgorithm ga;
+    private Population current;
+    private Population next;
+    private List<Individual> individuals;
+    
+    @Setup
+    public void setUp() {
+        ga = BenchmarkFixtures.newGa(population, selection, crossover);
+        current = ga.createPopulation();
+        next = ga.createPopulation();
+        ga.initializePopulation(current);
+        ga.evaluateFitness(current, robot, BenchmarkFixtures.TARGET);
+        individuals = ga.initializePopulation();
+        ga.evaluateFitness(individuals, robot, BenchmarkFixtures.TARGET);
+    }
+    
+    @Benchmark
+    public Population generation() {
+        ga.evolve(current, next);
+        ga.evaluateFitness(next, robot, BenchmarkFixtures.TARGET);
+        Population swap = current;
+        current = next;
+        next = swap;
+        return current;
+    }
+    
+    @Benchmark
+    public List<Individual> generationList() {
+        List<Individual> evolved = ga.evolve(individuals);
+        ga.evaluateFitness(evolved, robot, BenchmarkFixtures.TARGET);
+        individuals = evolved;
+        return evolved;
+    }
+}
@@ -0,0 +1,73 @@
+package robotics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The same GA generation and controller solve with {@link SolverMetrics}
+ * off and on, to show what the probes cost in each state.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int population;
+    
+    @Param({"false", "true"})
+    public boolean enabled;
+    
+    private final RobotArm2D robot = BenchmarkFixtures.newArm();
+    private GeneticAlgorithm ga;
+    private Population current;
+    private Population next;
+    private InverseKinematicsController controller;
+    
+    @Setup
+    public void setUp() {
+        SolverMetrics.setEnabled(enabled);
+        SolverMetrics.reset();
+        ga = BenchmarkFixtures.newGa(population, GeneticAlgorithm.SelectionType.TOURNAMENT,
+            GeneticAlgorithm.CrossoverType.UNIFORM);
+        current = ga.createPopulation();
+        next = ga.createPopulation();
+        ga.initializePopulation(current);
+        ga.evaluateFitness(current, robot, BenchmarkFixtures.TARGET);
+        controller = new InverseKinematicsController(robot, BenchmarkFixtures.newGa(population,
+            GeneticAlgorithm.SelectionType.TOURNAMENT, GeneticAlgorithm.CrossoverType.UNIFORM));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        SolverMetrics.setEnabled(false);
+    }
+    
+    @Benchmark
+    public Population generation() {
+        ga.evolve(current, next);
+        ga.evaluateFitness(next, robot, BenchmarkFixtures.TARGET);
+        Population swap = current;
+        current = next;
+        next = swap;
+        return current;
+    }
+    
+    @Benchmark
+    public InverseKinematicsController.SolutionResult solve() {
+        return controller.solve(BenchmarkFixtures.TARGET, 200, 0.01);
+    }
+}
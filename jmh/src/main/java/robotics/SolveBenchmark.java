@@ -0,0 +1,54 @@
+package robotics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A full InverseKinematicsController GA solve of up to 200 generations to
+ * an error of 0.01, against a reachable target and one outside the reach
+ * annulus that always runs the whole budget.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolveBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int population;
+    
+    @Param({"TOURNAMENT", "ROULETTE_WHEEL", "STOCHASTIC_UNIVERSAL"})
+    public GeneticAlgorithm.SelectionType selection;
+    
+    @Param({"SINGLE_POINT", "UNIFORM"})
+    public GeneticAlgorithm.CrossoverType crossover;
+    
+    @Param({"reachable", "unreachable"})
+    public String target;
+    
+    private InverseKinematicsController controller;
+    private RobotArm2D.Point2D point;
+    
+    @Setup
+    public void setUp() {
+        controller = new InverseKinematicsController(BenchmarkFixtures.newArm(),
+            BenchmarkFixtures.newGa(population, selection, crossover));
+        point = target.equals("reachable") ? BenchmarkFixtures.REACHABLE : BenchmarkFixtures.UNREACHABLE;
+    }
+    
+    @Benchmark
+    public InverseKinematicsController.SolutionResult solve() {
+        return controller.solve(point, 200, 0.01);
+    }
+}
@@ -0,0 +1,589 @@
+package robotics.ui;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import robotics.AsyncSolve;
+import robotics.BatchIKService;
+import robotics.GeneticAlgorithm;
+import robotics.GeneticAlgorithmSolver;
+import robotics.Individual;
+import robotics.InverseKinematicsController;
+import robotics.JacobianIKSolver;
+import robotics.RobotArm2D;
+import robotics.RunLogReader;
+import robotics.SearchProgress;
+import robotics.TrajectoryTracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class RobotKinematicsApp extends Application {
+    private static final int POPULATION_COLOR = 0xC04060C0;
+    
+    private RobotArm2D robot;
+    private RobotVisualization visualization;
+    private TextField q1Field, q2Field, a1Field, a2Field;
+    private TextField targetXField, targetYField, populationField;
+    private TextArea outputArea;
+    private CheckBox reverseMotionCheck;
+    private RobotVisualization.Playback playback;
+    private Button solveButton, testButton, cancelButton;
+    private ProgressBar progressBar;
+    private Label statusLabel;
+    private Runnable cancelAction;
+    
+    @Override
+    public void start(Stage primaryStage) {
+        robot = new RobotArm2D(2.0, 1.5);
+        
+        BorderPane root = new BorderPane();
+        root.setPadding(new Insets(10));
+        
+        visualization = new RobotVisualization(800, 600);
+        visualization.setRobot(robot);
+        root.setCenter(visualization);
+        
+        VBox controlPanel = createControlPanel();
+        root.setRight(controlPanel);
+        
+        Scene scene = new Scene(root, 1200, 650);
+        primaryStage.setTitle("2D SCARA Robot - Forward & Inverse Kinematics");
+        primaryStage.setScene(scene);
+        primaryStage.show();
+    }
+    
+    private VBox createControlPanel() {
+        VBox panel = new VBox(15);
+        panel.setPadding(new Insets(10));
+        panel.setPrefWidth(350);
+        panel.setStyle("-fx-background-color: #f0f0f0;");
+        
+        Label titleLabel = new Label("PART A: FORWARD KINEMATICS");
+        titleLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+        
+        GridPane fkGrid = new GridPane();
+        fkGrid.setHgap(10);
+        fkGrid.setVgap(10);
+        
+        a1Field = new TextField("2.0");
+        a2Field = new TextField("1.5");
+        q1Field = new TextField("0.0");
+        q2Field = new TextField("0.0");
+        
+        fkGrid.add(new Label("Arm 1 Length (a1):"), 0, 0);
+        fkGrid.add(a1Field, 1, 0);
+        fkGrid.add(new Label("Arm 2 Length (a2):"), 0, 1);
+        fkGrid.add(a2Field, 1, 1);
+        fkGrid.add(new Label("Joint 1 Angle (q1):"), 0, 2);
+        fkGrid.add(q1Field, 1, 2);
+        fkGrid.add(new Label("Joint 2 Angle (q2):"), 0, 3);
+        fkGrid.add(q2Field, 1, 3);
+        
+        reverseMotionCheck = new CheckBox("Reverse Motion");
+        
+        Button updateButton = new Button("Update Robot Pose");
+        updateButton.setMaxWidth(Double.MAX_VALUE);
+        updateButton.setOnAction(e -> updateRobotPose());
+        
+        Separator sep1 = new Separator();
+        
+        Label ikTitle = new Label("PART B: INVERSE KINEMATICS (GA)");
+        ikTitle.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+        
+        GridPane ikGrid = new GridPane();
+        ikGrid.setHgap(10);
+        ikGrid.setVgap(10);
+        
+        targetXField = new TextField("2.0");
+        targetYField = new TextField("2.0");
+        
+        ikGrid.add(new Label("Target X:"), 0, 0);
+        ikGrid.add(targetXField, 1, 0);
+        ikGrid.add(new Label("Target Y:"), 0, 1);
+        ikGrid.add(targetYField, 1, 1);
+        
+        populationField = new TextField("100");
+        ikGrid.add(new Label("Population:"), 0, 2);
+        ikGrid.add(populationField, 1, 2);
+        
+        solveButton = new Button("Solve using GA");
+        solveButton.setMaxWidth(Double.MAX_VALUE);
+        solveButton.setOnAction(e -> solveInverseKinematics());
+        
+        testButton = new Button("Run Tests (3 Targets)");
+        testButton.setMaxWidth(Double.MAX_VALUE);
+        testButton.setOnAction(e -> runTests());
+        
+        Button followButton = new Button("Follow Circle Path");
+        followButton.setMaxWidth(Double.MAX_VALUE);
+        followButton.setOnAction(e -> followCircle());
+        
+        Button replayButton = new Button("Replay Run Log");
+        replayButton.setMaxWidth(Double.MAX_VALUE);
+        replayButton.setOnAction(e -> replayRunLog());
+        
+        cancelButton = new Button("Cancel");
+        cancelButton.setMaxWidth(Double.MAX_VALUE);
+        cancelButton.setDisable(true);
+        cancelButton.setOnAction(e -> cancelJob());
+        
+        progressBar = new ProgressBar(0);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        statusLabel = new Label();
+        
+        outputArea = new TextArea();
+        outputArea.setPrefHeight(150);
+        outputArea.setEditable(false);
+        outputArea.setWrapText(true);
+        
+        panel.getChildren().addAll(
+            titleLabel,
+            fkGrid,
+            reverseMotionCheck,
+            updateButton,
+            sep1,
+            ikTitle,
+            ikGrid,
+            solveButton,
+            testButton,
+            followButton,
+            replayButton,
+            cancelButton,
+            progressBar,
+            statusLabel,
+            new Label("Output:"),
+            outputArea
+        );
+        
+        return panel;
+    }
+    
+    private void updateRobotPose() {
+        try {
+            double a1 = Double.parseDouble(a1Field.getText());
+            double a2 = Double.parseDouble(a2Field.getText());
+            double q1 = Math.toRadians(Double.parseDouble(q1Field.getText()));
+            double q2 = Math.toRadians(Double.parseDouble(q2Field.getText()));
+            
+            robot.setA1(a1);
+            robot.setA2(a2);
+            
+            if (reverseMotionCheck.isSelected()) {
+                visualization.setAnimationSpeed(0.05);
+                visualization.animateToAngles(q1, q2);
+            } else {
+                robot.setJointAngles(q1, q2);
+                visualization.draw();
+            }
+            
+            RobotArm2D.Point2D endEffector = robot.getEndEffectorPosition();
+            outputArea.setText(String.format("End Effector Position: %s", endEffector));
+            
+        } catch (NumberFormatException ex) {
+            showAlert("Invalid Input", "Please enter valid numeric values.");
+        }
+    }
+    
+    private void solveInverseKinematics() {
+        double targetX;
+        double targetY;
+        int populationSize;
+        try {
+            targetX = Double.parseDouble(targetXField.getText());
+            targetY = Double.parseDouble(targetYField.getText());
+            populationSize = Integer.parseInt(populationField.getText());
+            robot.setA1(Double.parseDouble(a1Field.getText()));
+            robot.setA2(Double.parseDouble(a2Field.getText()));
+        } catch (NumberFormatException ex) {
+            showAlert("Invalid Input", "Please enter valid numeric values for target position.");
+            return;
+        }
+        RobotArm2D.Point2D target = new RobotArm2D.Point2D(targetX, targetY);
+        visualization.setTargetPoint(target);
+        
+        GeneticAlgorithm ga = new GeneticAlgorithm(
+            populationSize,
+            0.1,
+            0.8,
+            -Math.PI,
+            Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT,
+            GeneticAlgorithm.CrossoverType.UNIFORM
+        );
+        
+        RobotArm2D arm = new RobotArm2D(robot.getA1(), robot.getA2());
+        InverseKinematicsController ikController = new InverseKinematicsController(arm, ga);
+        RobotVisualization.PointCloud cloud = visualization.startPointCloud(POPULATION_COLOR, 33);
+        SolveTask task = new SolveTask(ikController, target, 200, 0.01, cloud);
+        task.setOnSucceeded(e -> {
+            endJob();
+            cloud.finish();
+            showSolution(target, task.getValue());
+        });
+        task.setOnFailed(e -> {
+            endJob();
+            cloud.finish();
+            outputArea.appendText("Solve failed: " + task.getException() + "\n");
+        });
+        
+        outputArea.setText(String.format("Running Genetic Algorithm (population %d)...\n", populationSize));
+        startJob(task, task::stopSearch);
+    }
+    
+    private void showSolution(RobotArm2D.Point2D target, InverseKinematicsController.SolutionResult result) {
+        StringBuilder output = new StringBuilder();
+        output.append(String.format("Target Position: (%.4f, %.4f)\n\n", target.x, target.y));
+        output.append("Generation Results:\n");
+        
+        for (int i = 0; i < Math.min(10, result.history.size()); i++) {
+            output.append(result.history.get(i)).append("\n");
+        }
+        
+        if (result.history.size() > 10) {
+            output.append("...\n");
+            output.append(result.history.get(result.history.size() - 1)).append("\n");
+        }
+        
+        Individual best = result.bestIndividual;
+        robot.setJointAngles(best.getQ1(), best.getQ2());
+        RobotArm2D.Point2D finalPos = robot.getEndEffectorPosition();
+        
+        output.append(String.format("\nBest Solution (%s):\n", result.terminatedBy));
+        output.append(String.format("q1 = %.4f rad (%.2f deg)\n", best.getQ1(), Math.toDegrees(best.getQ1())));
+        output.append(String.format("q2 = %.4f rad (%.2f deg)\n", best.getQ2(), Math.toDegrees(best.getQ2())));
+        output.append(String.format("Final Position: %s\n", finalPos));
+        output.append(String.format("Error: %.6f units\n", best.getFitness()));
+        
+        outputArea.setText(output.toString());
+        
+        visualization.animateToAngles(best.getQ1(), best.getQ2());
+    }
+    
+    private void runTests() {
+        RobotArm2D.Point2D[] testTargets = {
+            new RobotArm2D.Point2D(2.0, 2.0),
+            new RobotArm2D.Point2D(1.5, 1.0),
+            new RobotArm2D.Point2D(-1.0, 2.5)
+        };
+        
+        double a1;
+        double a2;
+        try {
+            a1 = Double.parseDouble(a1Field.getText());
+            a2 = Double.parseDouble(a2Field.getText());
+        } catch (NumberFormatException ex) {
+            showAlert("Invalid Input", "Please enter valid numeric values for the link lengths.");
+            return;
+        }
+        robot.setA1(a1);
+        robot.setA2(a2);
+        
+        GeneticAlgorithm ga = new GeneticAlgorithm(
+            100,
+            0.1,
+            0.8,
+            -Math.PI,
+            Math.PI,
+            GeneticAlgorithm.SelectionType.TOURNAMENT,
+            GeneticAlgorithm.CrossoverType.UNIFORM
+        );
+        
+        RobotArm2D arm = new RobotArm2D(a1, a2);
+        Task<List<BatchIKService.BatchResult>> task = new Task<>() {
+            @Override
+            protected List<BatchIKService.BatchResult> call() throws InterruptedException {
+                BatchIKService.BatchResult[] results = new BatchIKService.BatchResult[testTargets.length];
+                int[] done = {0};
+                try (BatchIKService service = new BatchIKService(arm, new GeneticAlgorithmSolver(ga))) {
+                    service.solveAll(Arrays.asList(testTargets).iterator(), 200, 0.01, result -> {
+                        results[result.index] = result;
+                        updateProgress(++done[0], testTargets.length);
+                    });
+                }
+                return Arrays.asList(results);
+            }
+        };
+        task.setOnSucceeded(e -> {
+            endJob();
+            showTestResults(task.getValue());
+        });
+        task.setOnCancelled(e -> {
+            endJob();
+            outputArea.appendText("Tests cancelled.\n");
+        });
+        task.setOnFailed(e -> {
+            endJob();
+            outputArea.appendText("Tests failed: " + task.getException() + "\n");
+        });
+        
+        outputArea.setText("Running Tests on 3 Target Positions...\n");
+        startJob(task, task::cancel);
+    }
+    
+    private void showTestResults(List<BatchIKService.BatchResult> results) {
+        StringBuilder output = new StringBuilder();
+        output.append("Running Tests on 3 Target Positions\n");
+        output.append("=====================================\n\n");
+        
+        for (BatchIKService.BatchResult result : results) {
+            output.append(String.format("Test %d: Target = %s\n", result.index + 1, result.target));
+            
+            robot.setJointAngles(result.q1, result.q2);
+            RobotArm2D.Point2D finalPos = robot.getEndEffectorPosition();
+            
+            output.append(String.format("  Solution: q1=%.4f, q2=%.4f\n", result.q1, result.q2));
+            output.append(String.format("  Reached: %s\n", finalPos));
+            output.append(String.format("  Error: %.6f units", result.error));
+            
+            if (result.isSolved(0.01)) {
+                output.append(" [PASS]\n");
+            } else {
+                output.append(" [FAIL]\n");
+            }
+            output.append(String.format("  Generations: %d, Time: %.2f ms\n", result.generations, result.wallNanos / 1e6));
+            output.append("\n");
+        }
+        
+        outputArea.setText(output.toString());
+    }
+    
+    /**
+     * Runs {@code task} on a daemon thread, showing its progress and
+     * enabling the Cancel button, which runs {@code cancel}.
+     */
+    private void startJob(Task<?> task, Runnable cancel) {
+        cancelAction = cancel;
+        solveButton.setDisable(true);
+        testButton.setDisable(true);
+        cancelButton.setDisable(false);
+        progressBar.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+        Thread worker = new Thread(task, "ik-solve");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    private void endJob() {
+        cancelAction = null;
+        progressBar.progressProperty().unbind();
+        progressBar.setProgress(0);
+        statusLabel.textProperty().unbind();
+        statusLabel.setText("");
+        solveButton.setDisable(false);
+        testButton.setDisable(false);
+        cancelButton.setDisable(true);
+    }
+    
+    private void cancelJob() {
+        if (cancelAction != null) {
+            cancelAction.run();
+            cancelButton.setDisable(true);
+        }
+    }
+    
+    /**
+     * Tracks a circle of radius 0.5 around the IK target on a worker thread
+     * and plays the joint angles back as they are solved.
+     */
+    private void followCircle() {
+        double centerX;
+        double centerY;
+        try {
+            centerX = Double.parseDouble(targetXField.getText());
+            centerY = Double.parseDouble(targetYField.getText());
+            robot.setA1(Double.parseDouble(a1Field.getText()));
+            robot.setA2(Double.parseDouble(a2Field.getText()));
+        } catch (NumberFormatException ex) {
+            showAlert("Invalid Input", "Please enter valid numeric values for target position.");
+            return;
+        }
+        if (playback != null) {
+            playback.stop();
+        }
+        
+        RobotVisualization.Playback current = visualization.startPlayback(256, 4);
+        playback = current;
+        int count = 2000;
+        double radius = 0.5;
+        Iterator<RobotArm2D.Point2D> waypoints = new Iterator<>() {
+            private int index;
+            
+            @Override
+            public boolean hasNext() {
+                return index < count && !current.isStopped();
+            }
+            
+            @Override
+            public RobotArm2D.Point2D next() {
+                double angle = 2 * Math.PI * index++ / count;
+                return new RobotArm2D.Point2D(centerX + radius * Math.cos(angle),
+                    centerY + radius * Math.sin(angle));
+            }
+        };
+        
+        RobotArm2D arm = new RobotArm2D(robot.getA1(), robot.getA2());
+        arm.setJointAngles(robot.getQ1(), robot.getQ2());
+        TrajectoryTracker tracker = new TrajectoryTracker(arm,
+            new JacobianIKSolver(JacobianIKSolver.Method.DAMPED_LEAST_SQUARES));
+        tracker.setMaxJointStep(0.05);
+        outputArea.setText(String.format("Following circle of radius %.2f around (%.2f, %.2f)...\n",
+            radius, centerX, centerY));
+        
+        Thread worker = new Thread(() -> {
+            TrajectoryTracker.TrajectoryStats stats = tracker.track(waypoints, 50, 1e-4, current);
+            current.finish();
+            Platform.runLater(() -> outputArea.appendText(stats + "\n"));
+        }, "trajectory-tracker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * Plays back the best pose of every generation of every solve in a run
+     * log written by KinematicsCli record, one generation per frame, read
+     * from the mapped file on a worker thread.
+     */
+    private void replayRunLog() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Open Run Log");
+        File file = chooser.showOpenDialog(visualization.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        RunLogReader log;
+        try {
+            log = RunLogReader.open(file.toPath());
+        } catch (IOException ex) {
+            showAlert("Run Log", "Could not read " + file + ": " + ex.getMessage());
+            return;
+        }
+        if (log.getDof() != 2) {
+            closeQuietly(log);
+            showAlert("Run Log", "The run log is for a " + log.getDof() + "-joint chain, not this arm.");
+            return;
+        }
+        if (playback != null) {
+            playback.stop();
+        }
+        
+        RobotVisualization.Playback current = visualization.startPlayback(256, 1);
+        playback = current;
+        outputArea.setText(String.format("Replaying %d solves, %d generations from %s...\n",
+            log.getSolveCount(), log.getGenerationCount(), file.getName()));
+        
+        Thread worker = new Thread(() -> {
+            String summary;
+            try {
+                int points = 0;
+                for (int solve = 0; solve < log.getSolveCount() && !current.isStopped(); solve++) {
+                    points += log.replay(solve, current);
+                }
+                summary = "Replayed " + points + " generations";
+            } catch (IOException ex) {
+                summary = "Replay failed: " + ex.getMessage();
+            } finally {
+                current.finish();
+                closeQuietly(log);
+            }
+            String message = summary;
+            Platform.runLater(() -> outputArea.appendText(message + "\n"));
+        }, "run-log-replay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    private static void closeQuietly(RunLogReader log) {
+        try {
+            log.close();
+        } catch (IOException ignored) {
+        }
+    }
+    
+    private void showAlert(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+    
+    /**
+     * One GA solve through the controller's async API. Progress is reported
+     * at most every 100 ms and every generation's population goes to the
+     * point cloud. stopSearch ends the search after its current generation,
+     * and the task then succeeds with the best answer so far.
+     */
+    private static class SolveTask extends Task<InverseKinematicsController.SolutionResult> {
+        private static final long UPDATE_NANOS = 100_000_000L;
+        
+        private final InverseKinematicsController controller;
+        private final RobotArm2D.Point2D target;
+        private final int maxGenerations;
+        private final double errorThreshold;
+        private final Consumer<SearchProgress> cloud;
+        private volatile AsyncSolve solve;
+        private volatile boolean stopRequested;
+        private long lastUpdate;
+        
+        SolveTask(InverseKinematicsController controller, RobotArm2D.Point2D target, int maxGenerations,
+                  double errorThreshold, Consumer<SearchProgress> cloud) {
+            this.controller = controller;
+            this.target = target;
+            this.maxGenerations = maxGenerations;
+            this.errorThreshold = errorThreshold;
+            this.cloud = cloud;
+        }
+        
+        @Override
+        protected InverseKinematicsController.SolutionResult call() throws Exception {
+            Consumer<SearchProgress> listener = progress -> {
+                cloud.accept(progress);
+                report(progress);
+            };
+            controller.addProgressListener(listener);
+            try {
+                solve = controller.solveAsync(target, maxGenerations, errorThreshold, null);
+                if (stopRequested) {
+                    solve.cancel();
+                }
+                return solve.result().get();
+            } finally {
+                controller.removeProgressListener(listener);
+            }
+        }
+        
+        void stopSearch() {
+            stopRequested = true;
+            AsyncSolve running = solve;
+            if (running != null) {
+                running.cancel();
+            }
+        }
+        
+        private void report(SearchProgress progress) {
+            long now = System.nanoTime();
+            if (now - lastUpdate < UPDATE_NANOS) {
+                return;
+            }
+            lastUpdate = now;
+            updateProgress(progress.getGenerations(), maxGenerations);
+            updateMessage(String.format("Generation %d, best error %.6f",
+                progress.getGenerations(), progress.getBestFitness()));
+        }
+    }
+    
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
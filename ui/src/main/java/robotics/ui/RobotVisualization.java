@@ -0,0 +1,641 @@
+package robotics.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import robotics.RobotArm2D;
+import robotics.SearchProgress;
+import robotics.TrajectoryTracker;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * The arm drawn on stacked canvases: the grid and axes at the bottom, an
+ * overlay with the target and trajectory trail, a solver's population, and
+ * the arm on top. A layer is only repainted when its own content changes,
+ * so an animation frame clears and redraws just the area the arm covered. A
+ * single AnimationTimer drives all movement and is stopped while nothing
+ * moves. The mouse wheel zooms about the origin.
+ */
+public class RobotVisualization extends StackPane {
+    private static final double ARM_MARGIN = 10;
+    private static final int FRAME_SAMPLES = 120;
+    private static final long LATE_FRAME_NANOS = 20_000_000L;
+    private static final double MIN_SCALE = 5;
+    private static final double MAX_SCALE = 500;
+    /** Zoom factor per mouse wheel notch, which JavaFX reports as 40 pixels. */
+    private static final double ZOOM_STEP = 1.1;
+    
+    private final Canvas backgroundLayer;
+    private final Canvas overlayLayer;
+    private final Canvas populationLayer;
+    private final Canvas armLayer;
+    private final WritableImage populationImage;
+    private final AnimationTimer timer;
+    private RobotArm2D robot;
+    private volatile double scale;
+    private double centerX;
+    private double centerY;
+    private double animationSpeed;
+    private RobotArm2D.Point2D targetPoint;
+    
+    private boolean backgroundDirty;
+    private boolean overlayDirty;
+    private boolean armDirty;
+    private final double[] armBounds = new double[4];
+    private boolean armDrawn;
+    private boolean running;
+    
+    private boolean tweening;
+    private long tweenStart;
+    private long tweenNanos;
+    private double startQ1;
+    private double startQ2;
+    private double targetQ1;
+    private double targetQ2;
+    
+    private Playback playback;
+    private PointCloud pointCloud;
+    private boolean hasTrailPoint;
+    private double trailX;
+    private double trailY;
+    
+    private final long[] frameNanos = new long[FRAME_SAMPLES];
+    private final long[] renderNanos = new long[FRAME_SAMPLES];
+    private long frames;
+    private long lastFrame;
+    
+    public RobotVisualization(double width, double height) {
+        this.backgroundLayer = new Canvas(width, height);
+        this.overlayLayer = new Canvas(width, height);
+        this.populationLayer = new Canvas(width, height);
+        this.armLayer = new Canvas(width, height);
+        this.populationImage = new WritableImage((int) width, (int) height);
+        getChildren().addAll(backgroundLayer, overlayLayer, populationLayer, armLayer);
+        this.centerX = width / 2;
+        this.centerY = height / 2;
+        this.scale = 50;
+        this.animationSpeed = 0.05;
+        this.targetPoint = null;
+        this.backgroundDirty = true;
+        this.overlayDirty = true;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onFrame(now);
+            }
+        };
+        setOnScroll(event -> setScale(scale * Math.pow(ZOOM_STEP, event.getDeltaY() / 40)));
+    }
+    
+    public void setRobot(RobotArm2D robot) {
+        this.robot = robot;
+        backgroundDirty = true;
+        overlayDirty = true;
+        draw();
+    }
+    
+    /**
+     * Moves the target marker. This repaints the overlay, which also clears
+     * any trajectory trail.
+     */
+    public void setTargetPoint(RobotArm2D.Point2D point) {
+        this.targetPoint = point;
+        overlayDirty = true;
+        draw();
+    }
+    
+    public void clearTargetPoint() {
+        setTargetPoint(null);
+    }
+    
+    /**
+     * Sets the zoom in pixels per unit of length, clamped to 5..500; the
+     * default is 50. Every layer is repainted at the new scale, which clears
+     * any trajectory trail and the population shown so far.
+     */
+    public void setScale(double pixelsPerUnit) {
+        double clamped = Math.max(MIN_SCALE, Math.min(MAX_SCALE, pixelsPerUnit));
+        if (clamped == scale) {
+            return;
+        }
+        scale = clamped;
+        backgroundDirty = true;
+        overlayDirty = true;
+        populationLayer.getGraphicsContext2D().clearRect(0, 0, populationLayer.getWidth(),
+            populationLayer.getHeight());
+        draw();
+    }
+    
+    public double getScale() {
+        return scale;
+    }
+    
+    /**
+     * Repaints the arm from the robot's current joint angles, along with
+     * any layer whose content has changed.
+     */
+    public void draw() {
+        armDirty = true;
+        render();
+    }
+    
+    /**
+     * Eases the arm from its current angles to (q1, q2) over a fixed time,
+     * replacing any running animation or playback. Interpolation follows the
+     * frame timestamps, so the move takes the same time at any frame rate
+     * and ends exactly on the requested angles.
+     */
+    public void animateToAngles(double q1, double q2) {
+        stopPlayback();
+        startQ1 = robot.getQ1();
+        startQ2 = robot.getQ2();
+        targetQ1 = q1;
+        targetQ2 = q2;
+        tweenStart = -1;
+        tweenNanos = animationNanos();
+        tweening = true;
+        ensureRunning();
+    }
+    
+    /**
+     * Sets how quickly animateToAngles moves, as the fraction of the
+     * remaining distance the old per-frame easing covered every 1/60 s. A
+     * move now lasts four of that easing's time constants, about 1.3 s at
+     * the default of 0.05; 1 or more jumps straight to the target.
+     */
+    public void setAnimationSpeed(double speed) {
+        this.animationSpeed = speed;
+    }
+    
+    private long animationNanos() {
+        if (animationSpeed >= 1) {
+            return 0;
+        }
+        double timeConstant = (1.0 / 60) / -Math.log(1 - Math.max(animationSpeed, 1e-6));
+        return (long) (4 * timeConstant * 1e9);
+    }
+    
+    /**
+     * Starts showing trajectory points as they arrive, replacing any running
+     * animation and clearing the previous trail. Call from the FX thread;
+     * feed the returned sink from a worker thread.
+     */
+    public Playback startPlayback(int capacity, int pointsPerFrame) {
+        stopPlayback();
+        tweening = false;
+        overlayDirty = true;
+        render();
+        playback = new Playback(capacity, pointsPerFrame);
+        ensureRunning();
+        return playback;
+    }
+    
+    private void stopPlayback() {
+        if (playback != null) {
+            playback.stop();
+            playback = null;
+        }
+    }
+    
+    /**
+     * Starts drawing the populations handed to the returned listener, one
+     * pixel per individual's end effector in {@code argb}, replacing any
+     * previous cloud. Call from the FX thread; pass the listener to
+     * {@link robotics.InverseKinematicsController#addProgressListener}. The last
+     * population stays on screen until {@link #clearPointCloud}.
+     */
+    public PointCloud startPointCloud(int argb, long minIntervalMillis) {
+        clearPointCloud();
+        pointCloud = new PointCloud(argb, minIntervalMillis);
+        ensureRunning();
+        return pointCloud;
+    }
+    
+    public void clearPointCloud() {
+        if (pointCloud != null) {
+            pointCloud.stop();
+            pointCloud = null;
+        }
+        populationLayer.getGraphicsContext2D().clearRect(0, 0, populationLayer.getWidth(),
+            populationLayer.getHeight());
+    }
+    
+    public static class FrameStats {
+        /** Frames rendered since the last reset. */
+        public final long frames;
+        /** The remaining fields cover at most the last 120 frames. */
+        public final double meanFrameMillis;
+        public final double worstFrameMillis;
+        public final double meanRenderMillis;
+        public final double worstRenderMillis;
+        /** Frames that came more than 20 ms after the previous one. */
+        public final int lateFrames;
+        
+        FrameStats(long frames, double meanFrameMillis, double worstFrameMillis,
+                   double meanRenderMillis, double worstRenderMillis, int lateFrames) {
+            this.frames = frames;
+            this.meanFrameMillis = meanFrameMillis;
+            this.worstFrameMillis = worstFrameMillis;
+            this.meanRenderMillis = meanRenderMillis;
+            this.worstRenderMillis = worstRenderMillis;
+            this.lateFrames = lateFrames;
+        }
+        
+        public double getFramesPerSecond() {
+            return meanFrameMillis == 0 ? 0 : 1000 / meanFrameMillis;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%d frames, %.1f fps, frame %.2f ms (worst %.2f), render %.3f ms (worst %.3f),"
+                    + " %d late",
+                frames, getFramesPerSecond(), meanFrameMillis, worstFrameMillis,
+                meanRenderMillis, worstRenderMillis, lateFrames);
+        }
+    }
+    
+    /**
+     * Timing of recent animation frames: the interval between frames and the
+     * time spent updating and repainting within each one. Frames are only
+     * counted while something is animating.
+     */
+    public FrameStats getFrameStats() {
+        int samples = (int) Math.min(frames, FRAME_SAMPLES);
+        long frameTotal = 0;
+        long frameWorst = 0;
+        long renderTotal = 0;
+        long renderWorst = 0;
+        int late = 0;
+        for (int i = 0; i < samples; i++) {
+            frameTotal += frameNanos[i];
+            frameWorst = Math.max(frameWorst, frameNanos[i]);
+            renderTotal += renderNanos[i];
+            renderWorst = Math.max(renderWorst, renderNanos[i]);
+            if (frameNanos[i] > LATE_FRAME_NANOS) {
+                late++;
+            }
+        }
+        return new FrameStats(frames,
+            samples == 0 ? 0 : frameTotal / 1e6 / samples, frameWorst / 1e6,
+            samples == 0 ? 0 : renderTotal / 1e6 / samples, renderWorst / 1e6, late);
+    }
+    
+    public void resetFrameStats() {
+        frames = 0;
+    }
+    
+    private void ensureRunning() {
+        if (!running) {
+            running = true;
+            lastFrame = 0;
+            timer.start();
+        }
+    }
+    
+    private void onFrame(long now) {
+        long started = System.nanoTime();
+        boolean active = false;
+        if (tweening) {
+            active = stepTween(now);
+        }
+        if (playback != null) {
+            if (playback.showNext()) {
+                active = true;
+            } else {
+                playback = null;
+            }
+        }
+        if (pointCloud != null) {
+            if (pointCloud.showNext()) {
+                active = true;
+            } else {
+                pointCloud = null;
+            }
+        }
+        render();
+        
+        if (lastFrame != 0) {
+            int slot = (int) (frames % FRAME_SAMPLES);
+            frameNanos[slot] = now - lastFrame;
+            renderNanos[slot] = System.nanoTime() - started;
+            frames++;
+        }
+        lastFrame = now;
+        if (!active) {
+            timer.stop();
+            running = false;
+        }
+    }
+    
+    private boolean stepTween(long now) {
+        if (tweenStart < 0) {
+            tweenStart = now;
+        }
+        double t = tweenNanos <= 0 ? 1 : Math.min(1, (double) (now - tweenStart) / tweenNanos);
+        double eased = 1 - (1 - t) * (1 - t) * (1 - t);
+        robot.setJointAngles(startQ1 + (targetQ1 - startQ1) * eased,
+            startQ2 + (targetQ2 - startQ2) * eased);
+        armDirty = true;
+        tweening = t < 1;
+        return tweening;
+    }
+    
+    private void render() {
+        if (robot == null) return;
+        
+        if (backgroundDirty) {
+            drawBackground();
+            backgroundDirty = false;
+        }
+        if (overlayDirty) {
+            drawOverlay();
+            overlayDirty = false;
+        }
+        if (armDirty) {
+            drawArm();
+            armDirty = false;
+        }
+    }
+    
+    private void drawBackground() {
+        GraphicsContext gc = backgroundLayer.getGraphicsContext2D();
+        double width = backgroundLayer.getWidth();
+        double height = backgroundLayer.getHeight();
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, width, height);
+        
+        gc.setStroke(Color.LIGHTGRAY);
+        gc.setLineWidth(1);
+        int lines = (int) Math.ceil(Math.max(centerX, centerY) / scale);
+        for (int i = -lines; i <= lines; i++) {
+            gc.strokeLine(centerX + i * scale, 0, centerX + i * scale, height);
+            gc.strokeLine(0, centerY - i * scale, width, centerY - i * scale);
+        }
+        
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(2);
+        gc.strokeLine(0, centerY, width, centerY);
+        gc.strokeLine(centerX, 0, centerX, height);
+    }
+    
+    private void drawOverlay() {
+        GraphicsContext gc = overlayLayer.getGraphicsContext2D();
+        gc.clearRect(0, 0, overlayLayer.getWidth(), overlayLayer.getHeight());
+        hasTrailPoint = false;
+        
+        if (targetPoint != null) {
+            double tx = centerX + targetPoint.x * scale;
+            double ty = centerY - targetPoint.y * scale;
+            gc.setFill(Color.ORANGE);
+            gc.fillOval(tx - 6, ty - 6, 12, 12);
+            gc.setStroke(Color.ORANGE);
+            gc.setLineWidth(2);
+            gc.strokeOval(tx - 10, ty - 10, 20, 20);
+        }
+    }
+    
+    /**
+     * Extends the trail on the overlay by one segment without repainting
+     * what is already there.
+     */
+    private void addTrailPoint(RobotArm2D.Point2D point) {
+        double x = centerX + point.x * scale;
+        double y = centerY - point.y * scale;
+        if (hasTrailPoint) {
+            GraphicsContext gc = overlayLayer.getGraphicsContext2D();
+            gc.setStroke(Color.MEDIUMPURPLE);
+            gc.setLineWidth(1.5);
+            gc.strokeLine(trailX, trailY, x, y);
+        }
+        trailX = x;
+        trailY = y;
+        hasTrailPoint = true;
+    }
+    
+    private void drawArm() {
+        GraphicsContext gc = armLayer.getGraphicsContext2D();
+        if (armDrawn) {
+            gc.clearRect(armBounds[0], armBounds[1], armBounds[2] - armBounds[0], armBounds[3] - armBounds[1]);
+        }
+        
+        RobotArm2D.Point2D joint1 = robot.getJoint1Position();
+        RobotArm2D.Point2D joint2 = robot.getJoint2Position();
+        RobotArm2D.Point2D endEffector = robot.getEndEffectorPosition();
+        
+        double x1 = centerX + joint1.x * scale;
+        double y1 = centerY - joint1.y * scale;
+        double x2 = centerX + joint2.x * scale;
+        double y2 = centerY - joint2.y * scale;
+        double x3 = centerX + endEffector.x * scale;
+        double y3 = centerY - endEffector.y * scale;
+        
+        gc.setStroke(Color.BLUE);
+        gc.setLineWidth(4);
+        gc.strokeLine(x1, y1, x2, y2);
+        
+        gc.setStroke(Color.RED);
+        gc.strokeLine(x2, y2, x3, y3);
+        
+        gc.setFill(Color.BLACK);
+        gc.fillOval(x1 - 6, y1 - 6, 12, 12);
+        gc.fillOval(x2 - 6, y2 - 6, 12, 12);
+        
+        gc.setFill(Color.GREEN);
+        gc.fillOval(x3 - 8, y3 - 8, 16, 16);
+        
+        armBounds[0] = Math.min(x1, Math.min(x2, x3)) - ARM_MARGIN;
+        armBounds[1] = Math.min(y1, Math.min(y2, y3)) - ARM_MARGIN;
+        armBounds[2] = Math.max(x1, Math.max(x2, x3)) + ARM_MARGIN;
+        armBounds[3] = Math.max(y1, Math.max(y2, y3)) + ARM_MARGIN;
+        armDrawn = true;
+    }
+    
+    /**
+     * Hands trajectory points from the tracker's thread to the FX thread
+     * through a bounded queue. A full queue blocks the producer, so the
+     * tracker never runs further ahead of the display than {@code capacity}
+     * points and memory stays flat however long the path is. Each frame
+     * takes at most {@code pointsPerFrame} points, extends the trail with
+     * their targets and moves the arm to the last one.
+     */
+    public class Playback implements Consumer<TrajectoryTracker.TrajectoryPoint> {
+        private final BlockingQueue<TrajectoryTracker.TrajectoryPoint> queue;
+        private final int pointsPerFrame;
+        private volatile boolean finished;
+        private volatile boolean stopped;
+        
+        private Playback(int capacity, int pointsPerFrame) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.pointsPerFrame = Math.max(1, pointsPerFrame);
+        }
+        
+        @Override
+        public void accept(TrajectoryTracker.TrajectoryPoint point) {
+            if (stopped) {
+                return;
+            }
+            try {
+                queue.put(point);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        /**
+         * Marks the end of the trajectory; playback stops once the queue
+         * has drained.
+         */
+        public void finish() {
+            finished = true;
+        }
+        
+        /**
+         * Stops playback at the next frame and drops queued points; later
+         * points are ignored, so a blocked producer is released.
+         */
+        public void stop() {
+            stopped = true;
+            queue.clear();
+        }
+        
+        public boolean isStopped() {
+            return stopped;
+        }
+        
+        /**
+         * Shows the next batch of points; false once playback is over.
+         */
+        private boolean showNext() {
+            if (stopped) {
+                return false;
+            }
+            boolean done = finished;
+            TrajectoryTracker.TrajectoryPoint last = null;
+            for (int i = 0; i < pointsPerFrame; i++) {
+                TrajectoryTracker.TrajectoryPoint point = queue.poll();
+                if (point == null) {
+                    break;
+                }
+                addTrailPoint(point.target);
+                last = point;
+            }
+            if (last != null) {
+                robot.setJointAngles(last.q1, last.q2);
+                armDirty = true;
+                return true;
+            }
+            return !done || !queue.isEmpty();
+        }
+    }
+    
+    /**
+     * Rasterises populations on the solver's thread and hands finished
+     * images to the FX thread, which only uploads them. Two pixel buffers
+     * circulate between the threads: the solver fills a free one and
+     * publishes it, replacing any image the FX thread has not taken yet; a
+     * frame takes the newest image, uploads it and frees the buffer. When
+     * neither buffer is free, or the last image is younger than the minimum
+     * interval, the generation is skipped, so drawing never holds up the
+     * search and the FX thread does one upload per frame at most, whatever
+     * the population size.
+     */
+    public class PointCloud implements Consumer<SearchProgress> {
+        private final int width;
+        private final int height;
+        private final double originX;
+        private final double originY;
+        private final int color;
+        private final long minIntervalNanos;
+        private final BlockingQueue<int[]> free = new ArrayBlockingQueue<>(2);
+        private final AtomicReference<int[]> ready = new AtomicReference<>();
+        private long lastImage;
+        private volatile boolean finished;
+        private volatile boolean stopped;
+        
+        private PointCloud(int argb, long minIntervalMillis) {
+            this.width = (int) populationLayer.getWidth();
+            this.height = (int) populationLayer.getHeight();
+            this.originX = centerX;
+            this.originY = centerY;
+            this.color = argb;
+            this.minIntervalNanos = minIntervalMillis * 1_000_000L;
+            free.add(new int[width * height]);
+            free.add(new int[width * height]);
+        }
+        
+        /**
+         * Called on the solver's thread once per generation. Each image is
+         * drawn at the scale current when it is rasterised.
+         */
+        @Override
+        public void accept(SearchProgress progress) {
+            int n = progress.getPopulationSize();
+            if (stopped || n == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (lastImage != 0 && now - lastImage < minIntervalNanos) {
+                return;
+            }
+            int[] pixels = free.poll();
+            if (pixels == null) {
+                return;
+            }
+            lastImage = now;
+            double pixelsPerUnit = scale;
+            Arrays.fill(pixels, 0);
+            for (int i = 0; i < n; i++) {
+                int px = (int) (originX + progress.getPopulationX(i) * pixelsPerUnit);
+                int py = (int) (originY - progress.getPopulationY(i) * pixelsPerUnit);
+                if (px >= 0 && py >= 0 && px < width && py < height) {
+                    pixels[py * width + px] = color;
+                }
+            }
+            int[] stale = ready.getAndSet(pixels);
+            if (stale != null) {
+                free.offer(stale);
+            }
+        }
+        
+        /**
+         * Marks the end of the solve; the cloud stops updating once the
+         * last image is shown.
+         */
+        public void finish() {
+            finished = true;
+        }
+        
+        /**
+         * Stops drawing; images offered later are ignored.
+         */
+        public void stop() {
+            stopped = true;
+        }
+        
+        private boolean showNext() {
+            if (stopped) {
+                return false;
+            }
+            boolean done = finished;
+            int[] pixels = ready.getAndSet(null);
+            if (pixels != null) {
+                populationImage.getPixelWriter().setPixels(0, 0, width, height,
+                    PixelFormat.getIntArgbInstance(), pixels, 0, width);
+                GraphicsContext gc = populationLayer.getGraphicsContext2D();
+                gc.clearRect(0, 0, width, height);
+                gc.drawImage(populationImage, 0, 0);
+                free.offer(pixels);
+            }
+            return !done || ready.get() != null;
+        }
+    }
+}